@@ -1,12 +1,33 @@
 package com.interview.practice.datastructures;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A simple implementation of a singly linked list.
+ * 
+ * The list keeps a tail pointer, so adding to either end is O(1) and building a list of
+ * n elements is O(n). Iterators and spliterators are fail-fast: they throw
+ * ConcurrentModificationException if the list is changed other than through the iterator.
  */
-public class LinkedList<T> {
+public class LinkedList<T> implements Iterable<T> {
+    
+    // Spliterator batches grow by this much per split, up to MAX_BATCH elements
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
     
     private Node<T> head;
+    private Node<T> tail;
     private int size;
+    private int modCount;
     
     /**
      * Node class for the linked list.
@@ -32,14 +53,172 @@ public class LinkedList<T> {
         if (head == null) {
             head = newNode;
         } else {
+            tail.next = newNode;
+        }
+        tail = newNode;
+        
+        size++;
+        modCount++;
+    }
+    
+    /**
+     * Adds an element to the front of the list.
+     * 
+     * @param data the element to add
+     */
+    public void addFirst(T data) {
+        Node<T> newNode = new Node<>(data);
+        newNode.next = head;
+        head = newNode;
+        
+        if (tail == null) {
+            tail = newNode;
+        }
+        
+        size++;
+        modCount++;
+    }
+    
+    /**
+     * Adds all elements to the end of the list, in iteration order.
+     * 
+     * @param elements the elements to add
+     * @throws NullPointerException if elements is null
+     */
+    public void addAll(Iterable<? extends T> elements) {
+        Objects.requireNonNull(elements, "elements");
+        
+        if (elements == this) {
+            // Copy only the current elements, otherwise the loop would chase its own tail
             Node<T> current = head;
-            while (current.next != null) {
+            for (int i = size; i > 0; i--) {
+                add(current.data);
                 current = current.next;
             }
-            current.next = newNode;
+            return;
         }
         
-        size++;
+        for (T element : elements) {
+            add(element);
+        }
+    }
+    
+    /**
+     * Adds all elements of an array to the end of the list.
+     * 
+     * @param elements the elements to add
+     * @throws NullPointerException if elements is null
+     */
+    public void addAll(T[] elements) {
+        Objects.requireNonNull(elements, "elements");
+        
+        for (T element : elements) {
+            add(element);
+        }
+    }
+    
+    /**
+     * Returns the first element of the list.
+     * 
+     * @return the first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return head.data;
+    }
+    
+    /**
+     * Returns the last element of the list.
+     * 
+     * @return the last element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return tail.data;
+    }
+    
+    /**
+     * Removes and returns the first element of the list.
+     * 
+     * @return the removed element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        
+        T data = head.data;
+        unlink(null, head);
+        return data;
+    }
+    
+    /**
+     * Removes the first occurrence of an element (compared with equals).
+     * 
+     * @param data the element to remove, may be null
+     * @return true if the element was found and removed, false otherwise
+     */
+    public boolean remove(Object data) {
+        Node<T> previous = null;
+        
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (Objects.equals(current.data, data)) {
+                unlink(previous, current);
+                return true;
+            }
+            previous = current;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Checks if the list contains an element (compared with equals).
+     * 
+     * @param data the element to look for, may be null
+     * @return true if the list contains the element, false otherwise
+     */
+    public boolean contains(Object data) {
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (Objects.equals(current.data, data)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Removes all elements from the list.
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+    
+    // Removes node, whose predecessor is previous (null if node is the head)
+    private void unlink(Node<T> previous, Node<T> node) {
+        if (previous == null) {
+            head = node.next;
+        } else {
+            previous.next = node.next;
+        }
+        
+        if (node == tail) {
+            tail = previous;
+        }
+        
+        size--;
+        modCount++;
     }
     
     /**
@@ -59,4 +238,232 @@ public class LinkedList<T> {
     public boolean isEmpty() {
         return size == 0;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Returns an iterator over the elements from first to last. The iterator supports remove.
+     * 
+     * @return the iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator();
+    }
+    
+    /**
+     * Returns a late-binding spliterator over the elements from first to last. It splits by
+     * copying batches of elements into arrays, which makes parallel streams over the list useful.
+     * 
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator();
+    }
+    
+    /**
+     * Returns a sequential stream over the elements.
+     * 
+     * @return the stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Node<T> current = head; current != null; current = current.next) {
+            joiner.add(String.valueOf(current.data));
+        }
+        return joiner.toString();
+    }
+    
+    private class NodeIterator implements Iterator<T> {
+        private Node<T> next = head;
+        private Node<T> previous;      // Node before next that is still in the list
+        private Node<T> lastReturned;  // Null if remove is not allowed
+        private Node<T> beforeLast;    // Node before lastReturned
+        private int expectedModCount = modCount;
+        
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+        
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            
+            beforeLast = previous;
+            lastReturned = next;
+            previous = next;
+            next = next.next;
+            return lastReturned.data;
+        }
+        
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            
+            unlink(beforeLast, lastReturned);
+            previous = beforeLast;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+    
+    private class NodeSpliterator implements Spliterator<T> {
+        private Node<T> current;
+        private int remaining = -1; // -1 until bound to the list on first use
+        private int expectedModCount;
+        private int batch;
+        
+        private int bind() {
+            if (remaining < 0) {
+                current = head;
+                remaining = size;
+                expectedModCount = modCount;
+            }
+            return remaining;
+        }
+        
+        // Checked before each node is read: once the list has changed, the remaining count
+        // may run past the end of the chain
+        private void checkForComodification(Node<T> node) {
+            if (node == null || modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (bind() == 0) {
+                return false;
+            }
+            checkForComodification(current);
+            
+            T data = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(data);
+            
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int n = bind();
+            Node<T> node = current;
+            
+            for (int i = n; i > 0; i--) {
+                checkForComodification(node);
+                T data = node.data;
+                node = node.next;
+                action.accept(data);
+            }
+            current = null;
+            remaining = 0;
+            
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+        
+        @Override
+        public Spliterator<T> trySplit() {
+            int n = bind();
+            if (n <= 1) {
+                return null;
+            }
+            
+            // Hand off the next batch as an array; batches grow so deep splits stay cheap
+            int count = Math.min(n, Math.min(batch + BATCH_UNIT, MAX_BATCH));
+            Object[] elements = new Object[count];
+            for (int i = 0; i < count; i++) {
+                checkForComodification(current);
+                elements[i] = current.data;
+                current = current.next;
+            }
+            
+            batch = count;
+            remaining -= count;
+            return Spliterators.spliterator(elements, 0, count, ORDERED);
+        }
+        
+        @Override
+        public long estimateSize() {
+            return bind();
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+    
+    /**
+     * Builds lists of growing size to show that append is linear, and compares with the
+     * previous append that walked from the head to the end for every element.
+     */
+    public static void main(String[] args) {
+        LinkedList<Integer> sample = new LinkedList<>();
+        sample.addAll(new Integer[] {1, 2, 3});
+        sample.addAll(java.util.List.of(4, 5));
+        sample.addFirst(0);
+        sample.remove(Integer.valueOf(3));
+        System.out.println("Sample: " + sample + ", size " + sample.size() + ", sum " + sample.stream().mapToInt(Integer::intValue).sum());
+        
+        int max = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        System.out.println("\nBuild with tail pointer:");
+        for (int n = max / 8; n <= max; n *= 2) {
+            long start = System.nanoTime();
+            LinkedList<Integer> list = new LinkedList<>();
+            for (int i = 0; i < n; i++) {
+                list.add(i);
+            }
+            long buildTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            long sum = list.stream().parallel().mapToLong(Integer::longValue).sum();
+            long streamTime = System.nanoTime() - start;
+            
+            System.out.printf("%,d elements: build %d ms (%.1f ns/element), parallel sum %d in %d ms%n",
+                    n, buildTime / 1_000_000, (double) buildTime / n, sum, streamTime / 1_000_000);
+        }
+        
+        System.out.println("\nBuild by walking to the end (previous add):");
+        for (int n = 10_000; n <= 40_000; n *= 2) {
+            long start = System.nanoTime();
+            Node<Integer> first = null;
+            for (int i = 0; i < n; i++) {
+                Node<Integer> node = new Node<>(i);
+                if (first == null) {
+                    first = node;
+                } else {
+                    Node<Integer> current = first;
+                    while (current.next != null) {
+                        current = current.next;
+                    }
+                    current.next = node;
+                }
+            }
+            long buildTime = System.nanoTime() - start;
+            System.out.printf("%,d elements: build %d ms (%.1f ns/element)%n", n, buildTime / 1_000_000, (double) buildTime / n);
+        }
+    }
+}
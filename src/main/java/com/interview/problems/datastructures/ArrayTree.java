@@ -0,0 +1,250 @@
+package com.interview.problems.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * Binary tree stored as a structure of arrays instead of one object per node
+ * 
+ * Node i has value values[i] and children left[i] and right[i], given as node indices
+ * (NONE for a missing child). All nodes live in three int arrays (an arena), so a
+ * traversal reads contiguous primitive memory instead of following object pointers scattered
+ * across the heap, and a node costs 12 bytes instead of a 24-byte TreeNode object.
+ * 
+ * fromTreeNode lays the nodes out in pre-order, so a depth-first walk mostly moves forward
+ * through the arrays (the left child of i, if any, is i + 1).
+ * 
+ * Time Complexity: O(1) to add a node or follow a child, O(n) to convert
+ * Space Complexity: 12 bytes per node (plus growth slack while building)
+ */
+public class ArrayTree {
+    
+    public static final int NONE = -1;
+    
+    private int[] values;
+    private int[] left;
+    private int[] right;
+    private int size;
+    private int root = NONE;
+    
+    public ArrayTree() {
+        this(16);
+    }
+    
+    public ArrayTree(int capacity) {
+        capacity = Math.max(1, capacity);
+        values = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+    
+    /**
+     * Adds a node without children and without a parent
+     * 
+     * @return the index of the new node
+     */
+    public int addNode(int value) {
+        if (size == values.length) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, size * 2L);
+            if (capacity == size) {
+                throw new IllegalStateException("Too many nodes");
+            }
+            values = Arrays.copyOf(values, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        
+        values[size] = value;
+        left[size] = NONE;
+        right[size] = NONE;
+        return size++;
+    }
+    
+    public void setLeft(int node, int child) {
+        checkNode(node);
+        left[node] = checkChild(child);
+    }
+    
+    public void setRight(int node, int child) {
+        checkNode(node);
+        right[node] = checkChild(child);
+    }
+    
+    public void setRoot(int node) {
+        root = checkChild(node);
+    }
+    
+    public void setValue(int node, int value) {
+        checkNode(node);
+        values[node] = value;
+    }
+    
+    private void checkNode(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("Node " + node + ", size " + size);
+        }
+    }
+    
+    private int checkChild(int child) {
+        if (child != NONE) {
+            checkNode(child);
+        }
+        return child;
+    }
+    
+    /**
+     * @return the root index, or NONE for an empty tree
+     */
+    public int root() {
+        return root;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int value(int node) {
+        return values[node];
+    }
+    
+    public int left(int node) {
+        return left[node];
+    }
+    
+    public int right(int node) {
+        return right[node];
+    }
+    
+    /**
+     * Builds a tree from the level-order array format of TreeNode.createFromArray, where
+     * null elements represent empty nodes; nodes are numbered in level order
+     * 
+     * @param values the array of integer values with null for empty nodes
+     * @return the tree
+     */
+    public static ArrayTree createFromArray(Integer[] values) {
+        if (values == null || values.length == 0 || values[0] == null) {
+            return new ArrayTree(1);
+        }
+        
+        ArrayTree tree = new ArrayTree(values.length);
+        tree.setRoot(tree.addNode(values[0]));
+        
+        // Nodes are added in level order, so the node indices double as the BFS queue
+        int parent = 0;
+        for (int i = 1; i < values.length && parent < tree.size; i += 2, parent++) {
+            if (values[i] != null) {
+                tree.left[parent] = tree.addNode(values[i]);
+            }
+            if (i + 1 < values.length && values[i + 1] != null) {
+                tree.right[parent] = tree.addNode(values[i + 1]);
+            }
+        }
+        
+        return tree;
+    }
+    
+    /**
+     * Copies a TreeNode tree into arrays, numbering the nodes in pre-order (no recursion)
+     * 
+     * @param root the root of the binary tree
+     * @return the tree
+     */
+    public static ArrayTree fromTreeNode(TreeNode root) {
+        ArrayTree tree = new ArrayTree();
+        if (root == null) {
+            return tree;
+        }
+        
+        // Each stack entry is a node still to copy and the parent link that will point to it
+        TreeNode[] stack = new TreeNode[16];
+        int[] parent = new int[16];          // NONE for the root
+        boolean[] isRight = new boolean[16];
+        int top = 0;
+        stack[top] = root;
+        parent[top++] = NONE;
+        
+        while (top > 0) {
+            TreeNode node = stack[--top];
+            int index = tree.addNode(node.val);
+            
+            if (parent[top] == NONE) {
+                tree.root = index;
+            } else if (isRight[top]) {
+                tree.right[parent[top]] = index;
+            } else {
+                tree.left[parent[top]] = index;
+            }
+            
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                parent = Arrays.copyOf(parent, parent.length * 2);
+                isRight = Arrays.copyOf(isRight, isRight.length * 2);
+            }
+            // Push right first so the left subtree is numbered first
+            if (node.right != null) {
+                stack[top] = node.right;
+                parent[top] = index;
+                isRight[top++] = true;
+            }
+            if (node.left != null) {
+                stack[top] = node.left;
+                parent[top] = index;
+                isRight[top++] = false;
+            }
+        }
+        
+        return tree;
+    }
+    
+    /**
+     * Builds the equivalent TreeNode tree (nodes unreachable from the root are skipped)
+     * 
+     * @return the root of the binary tree, or null if the tree is empty
+     */
+    public TreeNode toTreeNode() {
+        if (root == NONE) {
+            return null;
+        }
+        
+        TreeNode[] nodes = new TreeNode[size];
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = root;
+        nodes[root] = new TreeNode(values[root]);
+        
+        while (top > 0) {
+            int index = stack[--top];
+            TreeNode node = nodes[index];
+            
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (left[index] != NONE) {
+                node.left = new TreeNode(values[left[index]]);
+                nodes[left[index]] = node.left;
+                stack[top++] = left[index];
+            }
+            if (right[index] != NONE) {
+                node.right = new TreeNode(values[right[index]]);
+                nodes[right[index]] = node.right;
+                stack[top++] = right[index];
+            }
+        }
+        
+        return nodes[root];
+    }
+    
+    /**
+     * Releases the unused growth capacity
+     */
+    public void trimToSize() {
+        values = Arrays.copyOf(values, Math.max(1, size));
+        left = Arrays.copyOf(left, Math.max(1, size));
+        right = Arrays.copyOf(right, Math.max(1, size));
+    }
+    
+    @Override
+    public String toString() {
+        return "ArrayTree{size=" + size + ", root=" + root + "}";
+    }
+}
@@ -62,6 +62,8 @@ public class GraphNode {
     /**
      * Converts a graph to its adjacency list representation
      * 
+     * Row i lists the neighbor values of the i-th node in BFS discovery order from node.
+     * 
      * @param node the starting node of the graph
      * @return the adjacency list representation
      */
@@ -70,41 +72,16 @@ public class GraphNode {
             return new int[0][0];
         }
         
-        // Use BFS to traverse the graph and find all nodes
-        java.util.Queue<GraphNode> queue = new java.util.LinkedList<>();
-        java.util.Map<Integer, Integer> indexMap = new java.util.HashMap<>();
-        java.util.Set<GraphNode> visited = new java.util.HashSet<>();
-        
-        queue.offer(node);
-        visited.add(node);
-        
-        List<GraphNode> allNodes = new ArrayList<>();
-        allNodes.add(node);
-        indexMap.put(node.val, 0);
-        
-        while (!queue.isEmpty()) {
-            GraphNode current = queue.poll();
-            
-            for (GraphNode neighbor : current.neighbors) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                    allNodes.add(neighbor);
-                    indexMap.put(neighbor.val, allNodes.size() - 1);
-                }
-            }
-        }
-        
-        // Create adjacency list
-        int n = allNodes.size();
+        Indexed graph = toIndexed(node);
+        int n = graph.size();
         int[][] adjList = new int[n][];
         
         for (int i = 0; i < n; i++) {
-            GraphNode current = allNodes.get(i);
-            int[] neighbors = new int[current.neighbors.size()];
+            int start = graph.offsets[i];
+            int[] neighbors = new int[graph.offsets[i + 1] - start];
             
             for (int j = 0; j < neighbors.length; j++) {
-                neighbors[j] = current.neighbors.get(j).val;
+                neighbors[j] = graph.values[graph.targets[start + j]];
             }
             
             adjList[i] = neighbors;
@@ -150,6 +127,11 @@ public class GraphNode {
     /**
      * Deep clone a graph, preserving its structure
      * 
+     * Iterative BFS over an array that doubles as the queue, with an identity-keyed
+     * open-addressing table (original -> index) instead of HashMap<GraphNode, GraphNode>;
+     * every clone's neighbor list is allocated at its exact size. No recursion and no
+     * boxing, so graphs with millions of nodes clone in O(V + E).
+     * 
      * @param node the starting node of the graph
      * @return the cloned graph
      */
@@ -158,38 +140,193 @@ public class GraphNode {
             return null;
         }
         
-        // Map to store original to clone mapping
-        java.util.Map<GraphNode, GraphNode> visited = new java.util.HashMap<>();
+        GraphNode[] originals = new GraphNode[16];
+        GraphNode[] clones = new GraphNode[16];
+        int count = 0;
+        IdentityIndex index = new IdentityIndex();
         
-        // BFS to traverse the graph
-        java.util.Queue<GraphNode> queue = new java.util.LinkedList<>();
-        queue.offer(node);
+        index.putIfAbsent(node, 0);
+        originals[count] = node;
+        clones[count++] = new GraphNode(node.val, new ArrayList<>(node.neighbors.size()));
         
-        // Clone the start node
-        visited.put(node, new GraphNode(node.val));
+        for (int i = 0; i < count; i++) {
+            List<GraphNode> cloneNeighbors = clones[i].neighbors;
+            
+            for (GraphNode neighbor : originals[i].neighbors) {
+                int k = index.putIfAbsent(neighbor, count);
+                if (k < 0) {
+                    if (count == originals.length) {
+                        originals = java.util.Arrays.copyOf(originals, count * 2);
+                        clones = java.util.Arrays.copyOf(clones, count * 2);
+                    }
+                    k = count;
+                    originals[count] = neighbor;
+                    clones[count++] = new GraphNode(neighbor.val, new ArrayList<>(neighbor.neighbors.size()));
+                }
+                cloneNeighbors.add(clones[k]);
+            }
+        }
         
-        while (!queue.isEmpty()) {
-            GraphNode current = queue.poll();
-            GraphNode cloneNode = visited.get(current);
+        return clones[0];
+    }
+    
+    /**
+     * Dense, index-based form of a graph
+     * 
+     * Node i has value values[i] and neighbors targets[offsets[i]] .. targets[offsets[i + 1] - 1],
+     * given as node indices in neighbor-list order. Index 0 is the start node and the other
+     * nodes follow in BFS discovery order. Three int arrays replace one object and one
+     * ArrayList per node.
+     */
+    public static class Indexed {
+        public final int[] values;
+        public final int[] offsets;
+        public final int[] targets;
+        
+        public Indexed(int[] values, int[] offsets, int[] targets) {
+            if (offsets.length != values.length + 1 || offsets[values.length] != targets.length) {
+                throw new IllegalArgumentException("offsets must have values.length + 1 entries ending at targets.length");
+            }
+            this.values = values;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+        
+        public int size() {
+            return values.length;
+        }
+        
+        /**
+         * Builds GraphNode objects for every node, with exactly sized neighbor lists
+         * 
+         * @return the nodes, indexed like this graph
+         */
+        public GraphNode[] toNodes() {
+            int n = values.length;
+            GraphNode[] nodes = new GraphNode[n];
             
-            // Clone all neighbors
-            for (GraphNode neighbor : current.neighbors) {
-                GraphNode cloneNeighbor;
-                
-                if (!visited.containsKey(neighbor)) {
-                    // Create new node and add to queue
-                    cloneNeighbor = new GraphNode(neighbor.val);
-                    visited.put(neighbor, cloneNeighbor);
-                    queue.offer(neighbor);
-                } else {
-                    cloneNeighbor = visited.get(neighbor);
+            for (int i = 0; i < n; i++) {
+                nodes[i] = new GraphNode(values[i], new ArrayList<>(offsets[i + 1] - offsets[i]));
+            }
+            
+            for (int i = 0; i < n; i++) {
+                List<GraphNode> neighbors = nodes[i].neighbors;
+                for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                    neighbors.add(nodes[targets[e]]);
                 }
-                
-                // Add to neighbor list of clone
-                cloneNode.neighbors.add(cloneNeighbor);
+            }
+            
+            return nodes;
+        }
+    }
+    
+    /**
+     * Flattens the graph reachable from node into index form
+     * 
+     * Nodes are keyed by identity (GraphNode does not override equals), so nodes with equal
+     * values stay distinct.
+     * 
+     * @param node the starting node of the graph
+     * @return the indexed graph, with node at index 0
+     */
+    public static Indexed toIndexed(GraphNode node) {
+        if (node == null) {
+            return new Indexed(new int[0], new int[1], new int[0]);
+        }
+        
+        GraphNode[] nodes = new GraphNode[16]; // Discovered nodes; doubles as the BFS queue
+        int[] offsets = new int[17];
+        int[] targets = new int[16];
+        int count = 0;
+        int edges = 0;
+        IdentityIndex index = new IdentityIndex();
+        
+        index.putIfAbsent(node, 0);
+        nodes[count++] = node;
+        
+        for (int i = 0; i < count; i++) {
+            offsets[i] = edges;
+            List<GraphNode> neighbors = nodes[i].neighbors;
+            if (edges + neighbors.size() > targets.length) {
+                targets = java.util.Arrays.copyOf(targets, Math.max(edges + neighbors.size(), targets.length * 2));
+            }
+            
+            for (GraphNode neighbor : neighbors) {
+                int k = index.putIfAbsent(neighbor, count);
+                if (k < 0) {
+                    if (count == nodes.length) {
+                        nodes = java.util.Arrays.copyOf(nodes, count * 2);
+                        offsets = java.util.Arrays.copyOf(offsets, count * 2 + 1);
+                    }
+                    k = count;
+                    nodes[count++] = neighbor;
+                }
+                targets[edges++] = k;
             }
         }
+        offsets[count] = edges;
         
-        return visited.get(node);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = nodes[i].val;
+        }
+        
+        return new Indexed(values, java.util.Arrays.copyOf(offsets, count + 1), java.util.Arrays.copyOf(targets, edges));
+    }
+    
+    /**
+     * Identity-keyed GraphNode -> int table with open addressing (linear probing), kept at
+     * most half full; avoids the Entry objects and boxed values of a HashMap
+     */
+    private static final class IdentityIndex {
+        private GraphNode[] keys = new GraphNode[32];
+        private int[] indices = new int[32];
+        private int size;
+        
+        /**
+         * @return the existing index of node, or -1 after storing the given index for it
+         */
+        int putIfAbsent(GraphNode node, int index) {
+            int mask = keys.length - 1;
+            int slot = hash(node) & mask;
+            
+            while (keys[slot] != null) {
+                if (keys[slot] == node) {
+                    return indices[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            
+            keys[slot] = node;
+            indices[slot] = index;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return -1;
+        }
+        
+        private void grow() {
+            GraphNode[] oldKeys = keys;
+            int[] oldIndices = indices;
+            keys = new GraphNode[oldKeys.length * 2];
+            indices = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    indices[slot] = oldIndices[i];
+                }
+            }
+        }
+        
+        private static int hash(GraphNode node) {
+            int h = System.identityHashCode(node) * 0x9E3779B9; // Spread clustered hash codes
+            return h ^ (h >>> 16);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,352 @@
+package com.interview.problems.datastructures;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Compact binary serialization for TreeNode trees
+ * 
+ * TreeNode.createFromArray and toArray go through a level-order Integer[] with nulls:
+ * every value is boxed, and a sparse tree stores a null for every missing child. This
+ * format writes the nodes in pre-order, each with a 2-bit mask saying whether it has a
+ * left and a right child, so missing children cost nothing and the shape can be rebuilt
+ * without nulls. Values are zigzag varints (1 byte for -64..63, at most 5 bytes).
+ * 
+ * Layout:
+ * - magic int "TREE"
+ * - chunks: int length (1..CHUNK_SIZE) followed by that many bytes
+ * - int 0 as terminator
+ * 
+ * Inside the chunks, nodes are grouped in blocks of four: a mask byte (bits 2i and 2i+1
+ * for the i-th node: has left, has right) followed by the four values. A block never
+ * spans two chunks, and the last block may be partial. Writing and reading are streaming:
+ * besides the tree itself they hold one chunk buffer and an O(h) node stack, and the
+ * framing lets a reader stop exactly at the end of the tree, even inside a larger stream.
+ * 
+ * Time Complexity: O(n) to write or read
+ * Space Complexity: O(h) + CHUNK_SIZE besides the tree
+ */
+public class TreeSerializer {
+    
+    public static final int MAGIC = 0x54524545; // "TREE"
+    public static final int CHUNK_SIZE = 1 << 16;
+    
+    private static final int MAX_BLOCK_BYTES = 1 + 4 * 5;
+    
+    private TreeSerializer() {
+    }
+    
+    // Destination for framed chunks
+    private interface ChunkOutput {
+        void writeInt(int value) throws IOException;
+        
+        void write(byte[] bytes, int length) throws IOException;
+    }
+    
+    // Source of framed chunks
+    private interface ChunkInput {
+        int readInt() throws IOException;
+        
+        void readFully(byte[] bytes, int length) throws IOException;
+    }
+    
+    /**
+     * Writes the tree to a DataOutput (e.g. a DataOutputStream over a file or socket)
+     */
+    public static void write(TreeNode root, DataOutput out) throws IOException {
+        encode(root, new ChunkOutput() {
+            @Override
+            public void writeInt(int value) throws IOException {
+                out.writeInt(value);
+            }
+            
+            @Override
+            public void write(byte[] bytes, int length) throws IOException {
+                out.write(bytes, 0, length);
+            }
+        });
+    }
+    
+    /**
+     * Writes the tree to a channel
+     */
+    public static void write(TreeNode root, WritableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        encode(root, new ChunkOutput() {
+            @Override
+            public void writeInt(int value) throws IOException {
+                header.clear();
+                header.putInt(value).flip();
+                writeFully(channel, header);
+            }
+            
+            @Override
+            public void write(byte[] bytes, int length) throws IOException {
+                writeFully(channel, ByteBuffer.wrap(bytes, 0, length));
+            }
+        });
+    }
+    
+    /**
+     * Writes the tree into a buffer
+     * 
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static void write(TreeNode root, ByteBuffer buffer) {
+        try {
+            encode(root, new ChunkOutput() {
+                @Override
+                public void writeInt(int value) {
+                    buffer.putInt(value);
+                }
+                
+                @Override
+                public void write(byte[] bytes, int length) {
+                    buffer.put(bytes, 0, length);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // The buffer output never throws IOException
+        }
+    }
+    
+    /**
+     * Reads a tree written by write(TreeNode, DataOutput), consuming exactly its bytes
+     */
+    public static TreeNode read(DataInput in) throws IOException {
+        return decode(new ChunkInput() {
+            @Override
+            public int readInt() throws IOException {
+                return in.readInt();
+            }
+            
+            @Override
+            public void readFully(byte[] bytes, int length) throws IOException {
+                in.readFully(bytes, 0, length);
+            }
+        });
+    }
+    
+    /**
+     * Reads a tree from a channel, consuming exactly its bytes
+     */
+    public static TreeNode read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        return decode(new ChunkInput() {
+            @Override
+            public int readInt() throws IOException {
+                header.clear();
+                TreeSerializer.readFully(channel, header);
+                return header.getInt(0);
+            }
+            
+            @Override
+            public void readFully(byte[] bytes, int length) throws IOException {
+                TreeSerializer.readFully(channel, ByteBuffer.wrap(bytes, 0, length));
+            }
+        });
+    }
+    
+    /**
+     * Reads a tree from a buffer, advancing its position past the tree
+     */
+    public static TreeNode read(ByteBuffer buffer) throws IOException {
+        return decode(new ChunkInput() {
+            @Override
+            public int readInt() throws IOException {
+                if (buffer.remaining() < 4) {
+                    throw new EOFException("Truncated tree data");
+                }
+                return buffer.getInt();
+            }
+            
+            @Override
+            public void readFully(byte[] bytes, int length) throws IOException {
+                if (buffer.remaining() < length) {
+                    throw new EOFException("Truncated tree data");
+                }
+                buffer.get(bytes, 0, length);
+            }
+        });
+    }
+    
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated tree data");
+            }
+        }
+    }
+    
+    /**
+     * Iterative pre-order walk; the mask byte of a block is reserved first and filled in
+     * as its (up to four) nodes are written
+     */
+    private static void encode(TreeNode root, ChunkOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int pos = 0;
+        int maskPos = 0;
+        int inBlock = 4; // Nodes in the current block; 4 means a new block must be started
+        
+        TreeNode[] stack = new TreeNode[16];
+        int top = 0;
+        if (root != null) {
+            stack[top++] = root;
+        }
+        
+        while (top > 0) {
+            TreeNode node = stack[--top];
+            
+            if (inBlock == 4) {
+                if (CHUNK_SIZE - pos < MAX_BLOCK_BYTES) {
+                    out.writeInt(pos);
+                    out.write(chunk, pos);
+                    pos = 0;
+                }
+                maskPos = pos;
+                chunk[pos++] = 0;
+                inBlock = 0;
+            }
+            
+            int mask = (node.left != null ? 1 : 0) | (node.right != null ? 2 : 0);
+            chunk[maskPos] |= (byte) (mask << (2 * inBlock));
+            inBlock++;
+            
+            int v = (node.val << 1) ^ (node.val >> 31); // Zigzag: small magnitudes get small codes
+            while ((v & ~0x7F) != 0) {
+                chunk[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            chunk[pos++] = (byte) v;
+            
+            // Push right first so left is written first (LIFO)
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (node.right != null) {
+                stack[top++] = node.right;
+            }
+            if (node.left != null) {
+                stack[top++] = node.left;
+            }
+        }
+        
+        if (pos > 0) {
+            out.writeInt(pos);
+            out.write(chunk, pos);
+        }
+        out.writeInt(0);
+    }
+    
+    /**
+     * Rebuilds the tree in pre-order. Each node is attached to the pending child slot
+     * (parent and side); the stack holds nodes whose right child is still to come.
+     */
+    private static TreeNode decode(ChunkInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a serialized tree");
+        }
+        
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int limit = readChunk(in, chunk);
+        if (limit == 0) {
+            return null;
+        }
+        int pos = 0;
+        int mask = 0;
+        int inBlock = 4;
+        
+        TreeNode root = null;
+        TreeNode parent = null;
+        boolean rightSide = false;
+        TreeNode[] stack = new TreeNode[16];
+        int top = 0;
+        
+        while (true) {
+            if (inBlock == 4) {
+                if (pos == limit) {
+                    limit = readChunk(in, chunk);
+                    pos = 0;
+                    if (limit == 0) {
+                        throw new EOFException("Truncated tree data");
+                    }
+                }
+                mask = chunk[pos++];
+                inBlock = 0;
+            }
+            
+            int children = (mask >>> (2 * inBlock)) & 3;
+            inBlock++;
+            
+            int v = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (pos == limit || shift > 28) {
+                    throw new IOException("Corrupt tree data");
+                }
+                byte b = chunk[pos++];
+                v |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            TreeNode node = new TreeNode((v >>> 1) ^ -(v & 1));
+            
+            if (parent == null) {
+                root = node;
+            } else if (rightSide) {
+                parent.right = node;
+            } else {
+                parent.left = node;
+            }
+            
+            // Next slot: own left child, else own right child, else the right child of the
+            // nearest ancestor still waiting for one
+            if ((children & 1) != 0) {
+                if ((children & 2) != 0) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = node;
+                }
+                parent = node;
+                rightSide = false;
+            } else if ((children & 2) != 0) {
+                parent = node;
+                rightSide = true;
+            } else if (top > 0) {
+                parent = stack[--top];
+                rightSide = true;
+            } else {
+                break;
+            }
+        }
+        
+        if (pos != limit || in.readInt() != 0) {
+            throw new IOException("Unexpected data after the tree");
+        }
+        return root;
+    }
+    
+    private static int readChunk(ChunkInput in, byte[] chunk) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > chunk.length) {
+            throw new IOException("Corrupt chunk length: " + length);
+        }
+        in.readFully(chunk, length);
+        return length;
+    }
+}
@@ -0,0 +1,34 @@
+package com.interview.problems.graphs;
+
+/**
+ * Read-only view of a graph stored in CSR layout: vertices 0..vertexCount-1, and the edges
+ * of vertex v are the edge indices edgeStart(v) .. edgeEnd(v) - 1
+ * 
+ * Implemented by the heap-backed CsrGraph and by the file-backed MappedCsrGraph, so the
+ * CSR traversals in GraphSearch run unchanged over either.
+ */
+public interface CompactGraph {
+    
+    int vertexCount();
+    
+    int edgeCount();
+    
+    /**
+     * @return the index of the vertex's first edge
+     */
+    int edgeStart(int vertex);
+    
+    /**
+     * @return one past the index of the vertex's last edge
+     */
+    int edgeEnd(int vertex);
+    
+    /**
+     * @return the target vertex of the edge at the given index
+     */
+    int target(int edge);
+    
+    default int degree(int vertex) {
+        return edgeEnd(vertex) - edgeStart(vertex);
+    }
+}
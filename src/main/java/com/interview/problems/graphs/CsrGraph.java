@@ -0,0 +1,230 @@
+package com.interview.problems.graphs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable graph in Compressed Sparse Row (CSR) form
+ * 
+ * All edges live in one int[] targets array, grouped by source vertex; the edges of
+ * vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1]. Compared to
+ * List<List<Integer>> there is no boxed Integer per edge and no ArrayList per vertex,
+ * and a traversal reads neighbors sequentially from one array instead of chasing
+ * pointers across the heap.
+ * 
+ * Neighbors keep the order in which they were added, so traversals visit vertices in
+ * the same order as the List<List<Integer>> versions in GraphSearch.
+ * 
+ * Time Complexity: O(V + E) to build, O(1) to access a vertex's neighbors
+ * Space Complexity: 4 * (V + 1 + E) bytes
+ */
+public class CsrGraph implements CompactGraph {
+    
+    private final int[] offsets;
+    private final int[] targets;
+    
+    CsrGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+    
+    /**
+     * Incrementally collects directed edges, then builds the CSR arrays with a counting sort
+     */
+    public static class Builder {
+        private int vertexCount;
+        private int[] sources = new int[16];
+        private int[] destinations = new int[16];
+        private int edgeCount;
+        
+        public Builder() {
+            this(0);
+        }
+        
+        /**
+         * @param vertexCount the minimum number of vertices (more are added as edges reference them)
+         */
+        public Builder(int vertexCount) {
+            this.vertexCount = vertexCount;
+        }
+        
+        public Builder addEdge(int from, int to) {
+            if (from < 0 || to < 0) {
+                throw new IllegalArgumentException("Negative vertex: " + from + " -> " + to);
+            }
+            
+            if (edgeCount == sources.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, sources.length * 2L);
+                if (capacity == edgeCount) {
+                    throw new IllegalStateException("Too many edges");
+                }
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+            }
+            
+            sources[edgeCount] = from;
+            destinations[edgeCount] = to;
+            edgeCount++;
+            vertexCount = Math.max(vertexCount, Math.max(from, to) + 1);
+            return this;
+        }
+        
+        public Builder addUndirectedEdge(int u, int v) {
+            return addEdge(u, v).addEdge(v, u);
+        }
+        
+        public CsrGraph build() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            
+            // Stable placement keeps each vertex's neighbors in insertion order
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                targets[next[sources[i]]++] = destinations[i];
+            }
+            
+            return new CsrGraph(offsets, targets);
+        }
+    }
+    
+    /**
+     * Converts an adjacency list into CSR form
+     * 
+     * @param graph the adjacency list representation of the graph
+     * @return the equivalent CSR graph
+     */
+    public static CsrGraph fromAdjacencyList(List<List<Integer>> graph) {
+        int n = graph.size();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = Math.addExact(offsets[v], graph.get(v).size());
+        }
+        
+        int[] targets = new int[offsets[n]];
+        int pos = 0;
+        for (List<Integer> neighbors : graph) {
+            for (int neighbor : neighbors) {
+                if (neighbor < 0 || neighbor >= n) {
+                    throw new IllegalArgumentException("Neighbor out of range: " + neighbor);
+                }
+                targets[pos++] = neighbor;
+            }
+        }
+        
+        return new CsrGraph(offsets, targets);
+    }
+    
+    /**
+     * Reads a directed graph from an edge-list file
+     * 
+     * Each line holds "from to" separated by whitespace; empty lines and lines starting
+     * with '#' or '%' are skipped. The vertex count is the largest vertex id plus one.
+     * The file is parsed byte by byte, without a String per line.
+     * 
+     * @param file the edge-list file
+     * @return the CSR graph
+     */
+    public static CsrGraph readEdgeList(Path file) throws IOException {
+        Builder builder = new Builder();
+        EdgeListReader.read(file, false, (from, to, weight) -> builder.addEdge(from, to));
+        return builder.build();
+    }
+    
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+    
+    public int edgeCount() {
+        return targets.length;
+    }
+    
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+    
+    /**
+     * @return the index of the vertex's first edge in the targets array
+     */
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+    
+    /**
+     * @return one past the index of the vertex's last edge in the targets array
+     */
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+    
+    /**
+     * @return the target vertex of the edge at the given index
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+    
+    /**
+     * @return a copy of the vertex's neighbors, in insertion order
+     */
+    public int[] neighbors(int vertex) {
+        return Arrays.copyOfRange(targets, offsets[vertex], offsets[vertex + 1]);
+    }
+    
+    /**
+     * Builds the transposed graph (every edge reversed), e.g. to walk incoming edges
+     * 
+     * In-neighbors end up in increasing order of their source vertex.
+     * 
+     * @return the reverse graph
+     */
+    public CsrGraph transpose() {
+        int n = vertexCount();
+        int[] reverseOffsets = new int[n + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        int[] reverseTargets = new int[targets.length];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                reverseTargets[next[targets[e]]++] = v;
+            }
+        }
+        
+        return new CsrGraph(reverseOffsets, reverseTargets);
+    }
+    
+    /**
+     * Converts back into an adjacency list (boxes every edge; meant for small graphs)
+     */
+    public List<List<Integer>> toAdjacencyList() {
+        int n = vertexCount();
+        List<List<Integer>> graph = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            List<Integer> neighbors = new ArrayList<>(degree(v));
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                neighbors.add(targets[e]);
+            }
+            graph.add(neighbors);
+        }
+        return graph;
+    }
+    
+    @Override
+    public String toString() {
+        return "CsrGraph{vertices=" + vertexCount() + ", edges=" + edgeCount() + "}";
+    }
+}
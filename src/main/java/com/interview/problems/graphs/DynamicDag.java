@@ -0,0 +1,387 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Directed acyclic graph that maintains a topological order under edge insertions and deletions
+ * 
+ * GraphSearch.topologicalSort recomputes the whole order in O(V + E). This structure keeps
+ * an order (ord[vertex] = position, vertexAt[position] = vertex) and repairs it locally with
+ * the Pearce-Kelly algorithm when an edge u -> v is inserted:
+ * - if ord[u] < ord[v] the order is still valid and nothing happens
+ * - otherwise only vertices with positions in [ord[v], ord[u]] can be affected: a forward
+ *   search from v (staying below ord[u]) and a backward search from u (staying above ord[v])
+ *   find them; if the forward search reaches u, the edge would close a cycle and is rejected
+ * - the two sets are moved so that everything reaching u precedes everything reachable from
+ *   v, reusing exactly the positions they occupied
+ * 
+ * Deleting an edge never invalidates a topological order, so it only updates adjacency.
+ * Order queries (position, precedes) are array lookups.
+ * 
+ * Time Complexity: O(1) order queries; insertion O(|affected region| log + its edges); deletion O(degree)
+ * Space Complexity: O(V + E)
+ */
+public class DynamicDag {
+    
+    private int vertexCount;
+    private int edgeCount;
+    
+    // Adjacency as growable int arrays per vertex
+    private int[][] out = new int[0][];
+    private int[] outSize = new int[0];
+    private int[][] in = new int[0][];
+    private int[] inSize = new int[0];
+    
+    private int[] ord = new int[0];        // Position of each vertex in the order
+    private int[] vertexAt = new int[0];   // Vertex at each position
+    
+    // Scratch state for insertions
+    private int[] mark = new int[0];
+    private int epoch;
+    private int[] stack = new int[0];
+    private int[] forwardSet = new int[0];
+    private int[] backwardSet = new int[0];
+    private int[] positions = new int[0];
+    
+    public DynamicDag() {
+        this(0);
+    }
+    
+    /**
+     * Creates a DAG with vertices 0..vertexCount-1 and no edges, ordered by id
+     */
+    public DynamicDag(int vertexCount) {
+        ensureCapacity(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            addVertex();
+        }
+    }
+    
+    /**
+     * Adds a vertex at the end of the order
+     * 
+     * @return the new vertex id
+     */
+    public int addVertex() {
+        int v = vertexCount;
+        ensureCapacity(v + 1);
+        out[v] = new int[2];
+        in[v] = new int[2];
+        ord[v] = v;
+        vertexAt[v] = v;
+        vertexCount++;
+        return v;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ord.length) {
+            return;
+        }
+        int size = Math.max(capacity, ord.length * 2);
+        out = Arrays.copyOf(out, size);
+        outSize = Arrays.copyOf(outSize, size);
+        in = Arrays.copyOf(in, size);
+        inSize = Arrays.copyOf(inSize, size);
+        ord = Arrays.copyOf(ord, size);
+        vertexAt = Arrays.copyOf(vertexAt, size);
+        mark = Arrays.copyOf(mark, size);
+        stack = new int[size];
+        forwardSet = new int[size];
+        backwardSet = new int[size];
+        positions = new int[size];
+    }
+    
+    /**
+     * Inserts the edge from -> to, repairing the topological order if needed
+     * 
+     * @return true if the edge is in the graph afterwards, false if it was rejected because
+     *         it would create a cycle (the graph is then unchanged)
+     */
+    public boolean addEdge(int from, int to) {
+        checkVertex(from);
+        checkVertex(to);
+        if (from == to) {
+            return false;
+        }
+        if (hasEdge(from, to)) {
+            return true;
+        }
+        
+        int lower = ord[to];
+        int upper = ord[from];
+        if (lower < upper && !reorder(from, to, lower, upper)) {
+            return false;
+        }
+        
+        out[from] = append(out[from], outSize[from]++, to);
+        in[to] = append(in[to], inSize[to]++, from);
+        edgeCount++;
+        return true;
+    }
+    
+    /**
+     * Pearce-Kelly repair for an edge from -> to with ord[to] = lower < upper = ord[from]
+     * 
+     * @return false if to reaches from, i.e. the edge would close a cycle
+     */
+    private boolean reorder(int from, int to, int lower, int upper) {
+        nextEpoch();
+        
+        // Forward: vertices reachable from 'to' whose position is below 'upper'
+        int forwardCount = 0;
+        int top = 0;
+        stack[top++] = to;
+        mark[to] = epoch;
+        while (top > 0) {
+            int v = stack[--top];
+            forwardSet[forwardCount++] = v;
+            for (int i = 0; i < outSize[v]; i++) {
+                int w = out[v][i];
+                if (w == from) {
+                    return false; // to ->* from, so from -> to closes a cycle
+                }
+                if (mark[w] != epoch && ord[w] < upper) {
+                    mark[w] = epoch;
+                    stack[top++] = w;
+                }
+            }
+        }
+        
+        // Backward: vertices reaching 'from' whose position is above 'lower'
+        int backwardCount = 0;
+        stack[top++] = from;
+        mark[from] = epoch;
+        while (top > 0) {
+            int v = stack[--top];
+            backwardSet[backwardCount++] = v;
+            for (int i = 0; i < inSize[v]; i++) {
+                int w = in[v][i];
+                if (mark[w] != epoch && ord[w] > lower) {
+                    mark[w] = epoch;
+                    stack[top++] = w;
+                }
+            }
+        }
+        
+        // Each set keeps its internal order; all of backward then all of forward
+        sortByOrder(forwardSet, forwardCount);
+        sortByOrder(backwardSet, backwardCount);
+        
+        int total = forwardCount + backwardCount;
+        for (int i = 0; i < backwardCount; i++) {
+            positions[i] = ord[backwardSet[i]];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            positions[backwardCount + i] = ord[forwardSet[i]];
+        }
+        Arrays.sort(positions, 0, total);
+        
+        for (int i = 0; i < total; i++) {
+            int v = i < backwardCount ? backwardSet[i] : forwardSet[i - backwardCount];
+            ord[v] = positions[i];
+            vertexAt[positions[i]] = v;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Sorts the first count vertices by their current position
+     */
+    private void sortByOrder(int[] vertices, int count) {
+        // Sort positions, then map back through vertexAt; positions are unique
+        for (int i = 0; i < count; i++) {
+            vertices[i] = ord[vertices[i]];
+        }
+        Arrays.sort(vertices, 0, count);
+        for (int i = 0; i < count; i++) {
+            vertices[i] = vertexAt[vertices[i]];
+        }
+    }
+    
+    /**
+     * Removes the edge from -> to; the current order stays valid
+     * 
+     * @return true if the edge existed
+     */
+    public boolean removeEdge(int from, int to) {
+        checkVertex(from);
+        checkVertex(to);
+        if (!remove(out[from], outSize[from], to)) {
+            return false;
+        }
+        outSize[from]--;
+        remove(in[to], inSize[to], from);
+        inSize[to]--;
+        edgeCount--;
+        return true;
+    }
+    
+    public boolean hasEdge(int from, int to) {
+        int[] targets = out[from];
+        for (int i = 0; i < outSize[from]; i++) {
+            if (targets[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * @return the position of the vertex in the current topological order
+     */
+    public int position(int vertex) {
+        checkVertex(vertex);
+        return ord[vertex];
+    }
+    
+    /**
+     * @return the vertex at a position of the current topological order
+     */
+    public int vertexAt(int position) {
+        checkVertex(position);
+        return vertexAt[position];
+    }
+    
+    /**
+     * @return true if a comes before b in the current order (always true if a reaches b)
+     */
+    public boolean precedes(int a, int b) {
+        return position(a) < position(b);
+    }
+    
+    /**
+     * @return a copy of the current topological order
+     */
+    public int[] topologicalOrder() {
+        return Arrays.copyOf(vertexAt, vertexCount);
+    }
+    
+    public int vertexCount() {
+        return vertexCount;
+    }
+    
+    public int edgeCount() {
+        return edgeCount;
+    }
+    
+    /**
+     * @return a CSR snapshot of the current edges
+     */
+    public CsrGraph toCsrGraph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            for (int i = 0; i < outSize[v]; i++) {
+                builder.addEdge(v, out[v][i]);
+            }
+        }
+        return builder.build();
+    }
+    
+    private void nextEpoch() {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            epoch = 1;
+        }
+    }
+    
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex " + vertex + ", vertex count " + vertexCount);
+        }
+    }
+    
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max(2, size * 2));
+        }
+        array[size] = value;
+        return array;
+    }
+    
+    // Swap-remove; neighbor order is not significant here
+    private static boolean remove(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                array[i] = array[size - 1];
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public static void main(String[] args) {
+        System.out.println("=== DYNAMIC DAG ===");
+        DynamicDag dag = new DynamicDag(6);
+        System.out.println("Initial order: " + Arrays.toString(dag.topologicalOrder()));
+        
+        int[][] edges = {{5, 2}, {5, 0}, {4, 0}, {4, 1}, {2, 3}, {3, 1}};
+        for (int[] edge : edges) {
+            dag.addEdge(edge[0], edge[1]);
+            System.out.println("Add " + edge[0] + " -> " + edge[1] + ": " + Arrays.toString(dag.topologicalOrder()));
+        }
+        
+        System.out.println("Add 1 -> 5 (cycle 5 -> 2 -> 3 -> 1 -> 5): " + dag.addEdge(1, 5));
+        System.out.println("5 precedes 1: " + dag.precedes(5, 1));
+        System.out.println("Remove 3 -> 1: " + dag.removeEdge(3, 1));
+        System.out.println("Add 1 -> 5 now: " + dag.addEdge(1, 5) + ", order " + Arrays.toString(dag.topologicalOrder()));
+        
+        // Benchmark: random insertions consistent with a hidden order, plus some that close cycles
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int insertions = 4 * n;
+        SplittableRandom random = new SplittableRandom(17);
+        int[] hidden = new int[n];
+        for (int i = 0; i < n; i++) {
+            hidden[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = hidden[i];
+            hidden[i] = hidden[j];
+            hidden[j] = tmp;
+        }
+        
+        System.out.println("\n=== BENCHMARK (" + n + " vertices, " + insertions + " insertions) ===");
+        DynamicDag big = new DynamicDag(n);
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < insertions; i++) {
+            int a = random.nextInt(n);
+            int b = a + 1 + random.nextInt(Math.min(50, n - a - 1) + 1);
+            if (b >= n) {
+                continue;
+            }
+            // Mostly forward edges in the hidden order, 1% backward ones that usually close a cycle
+            boolean forward = random.nextInt(100) != 0;
+            int from = forward ? hidden[a] : hidden[b];
+            int to = forward ? hidden[b] : hidden[a];
+            if (!big.addEdge(from, to)) {
+                rejected++;
+            }
+        }
+        long incremental = System.nanoTime() - start;
+        
+        CsrGraph snapshot = big.toCsrGraph();
+        start = System.nanoTime();
+        int repeats = 20;
+        for (int i = 0; i < repeats; i++) {
+            GraphSearch.topologicalSort(snapshot);
+        }
+        long perRecompute = (System.nanoTime() - start) / repeats;
+        
+        System.out.printf("Incremental: %d edges, %d rejected, %.2f us per insertion%n",
+                big.edgeCount(), rejected, incremental / 1e3 / insertions);
+        System.out.printf("Full recompute: %.2f ms per insertion (GraphSearch.topologicalSort)%n", perRecompute / 1e6);
+        
+        // Verify the maintained order
+        boolean valid = true;
+        for (int v = 0; v < n && valid; v++) {
+            for (int e = snapshot.edgeStart(v); e < snapshot.edgeEnd(v); e++) {
+                valid &= big.precedes(v, snapshot.target(e));
+            }
+        }
+        System.out.println("Order valid: " + valid + ", acyclic: " + !GraphSearch.hasCycle(snapshot));
+    }
+}
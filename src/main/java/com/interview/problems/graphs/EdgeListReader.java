@@ -0,0 +1,117 @@
+package com.interview.problems.graphs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streaming parser for edge-list text files, shared by CsrGraph and MappedCsrGraph
+ * 
+ * Each line holds "from to" (or "from to weight") separated by whitespace or commas; empty
+ * lines and lines starting with '#' or '%' are skipped. The file is parsed byte by byte,
+ * without a String per line, and edges are handed to a callback instead of being collected.
+ */
+final class EdgeListReader {
+    
+    interface EdgeConsumer {
+        void accept(int from, int to, double weight);
+    }
+    
+    private EdgeListReader() {
+    }
+    
+    /**
+     * Parses the file and passes every edge to the consumer, in file order
+     * 
+     * @param weighted true if each line carries a third, decimal weight column; without it
+     *                 every edge gets weight 1
+     */
+    static void read(Path file, boolean weighted, EdgeConsumer consumer) throws IOException {
+        int expected = weighted ? 3 : 2;
+        
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[1 << 16];
+            byte[] weightChars = new byte[64];
+            int weightLength = 0;
+            int[] pair = new int[2];
+            double weight = 1;
+            int count = 0;
+            long value = -1;
+            boolean comment = false;
+            boolean lineStart = true;
+            long line = 1;
+            
+            for (int read = in.read(buffer); ; read = in.read(buffer)) {
+                // A final pass with b = -1 flushes a last line without '\n'
+                int limit = read < 0 ? 1 : read;
+                for (int i = 0; i < limit; i++) {
+                    int b = read < 0 ? -1 : buffer[i];
+                    
+                    if (lineStart && (b == '#' || b == '%')) {
+                        comment = true;
+                    }
+                    lineStart = false;
+                    
+                    boolean lineEnd = b == '\n' || b == -1;
+                    if (lineEnd || (!comment && (b == ' ' || b == '\t' || b == '\r' || b == ','))) {
+                        // Finish the current token
+                        if (value >= 0) {
+                            pair[count++] = (int) value;
+                            value = -1;
+                        } else if (weightLength > 0) {
+                            weight = parseWeight(weightChars, weightLength, line);
+                            weightLength = 0;
+                            count++;
+                        }
+                        
+                        if (lineEnd) {
+                            if (count == expected) {
+                                consumer.accept(pair[0], pair[1], weight);
+                            } else if (count == 1) {
+                                throw new IOException("Missing target vertex on line " + line);
+                            } else if (count == 2) {
+                                throw new IOException("Missing weight on line " + line);
+                            }
+                            
+                            count = 0;
+                            comment = false;
+                            lineStart = true;
+                            line++;
+                        }
+                    } else if (comment) {
+                        continue;
+                    } else if (count == expected) {
+                        throw new IOException((weighted ? "More than three values" : "More than two vertices") + " on line " + line);
+                    } else if (count < 2) {
+                        if (b < '0' || b > '9') {
+                            throw new IOException("Unexpected character '" + (char) (b & 0xFF) + "' on line " + line);
+                        }
+                        value = (value < 0 ? 0 : value * 10) + (b - '0');
+                        if (value > Integer.MAX_VALUE) {
+                            throw new IOException("Vertex id too large on line " + line);
+                        }
+                    } else {
+                        if (weightLength == weightChars.length) {
+                            throw new IOException("Weight too long on line " + line);
+                        }
+                        weightChars[weightLength++] = (byte) b;
+                    }
+                }
+                
+                if (read < 0) {
+                    break;
+                }
+            }
+        }
+    }
+    
+    private static double parseWeight(byte[] chars, int length, long line) throws IOException {
+        try {
+            return Double.parseDouble(new String(chars, 0, length, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid weight on line " + line, e);
+        }
+    }
+}
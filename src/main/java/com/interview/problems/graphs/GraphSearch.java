@@ -12,7 +12,8 @@ import java.util.*;
  * 4. Applications such as detecting cycles and finding paths
  * 
  * Time Complexity: O(V + E) where V is the number of vertices and E is the number of edges
- * Space Complexity: O(V) for the visited set and recursion/queue
+ * Space Complexity: O(V) for the visited set and the explicit stack/queue (no recursion, so
+ *                   chains of millions of vertices run at the default thread stack size)
  */
 public class GraphSearch {
     
@@ -24,27 +25,18 @@ public class GraphSearch {
      * @return the list of vertices in DFS order
      */
     public static List<Integer> dfs(List<List<Integer>> graph, int start) {
-        List<Integer> result = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
+        // Explicit int stacks instead of recursion, so long chains cannot overflow the call stack
+        TraversalContext context = new TraversalContext(graph.size());
+        int count = dfs(graph, start, context);
         
-        dfsHelper(graph, start, visited, result);
+        List<Integer> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(context.vertexAt(i));
+        }
         
         return result;
     }
     
-    private static void dfsHelper(List<List<Integer>> graph, int vertex, Set<Integer> visited, List<Integer> result) {
-        // Mark vertex as visited
-        visited.add(vertex);
-        result.add(vertex);
-        
-        // Visit all adjacent vertices
-        for (int neighbor : graph.get(vertex)) {
-            if (!visited.contains(neighbor)) {
-                dfsHelper(graph, neighbor, visited, result);
-            }
-        }
-    }
-    
     /**
      * Performs DFS iteratively using a stack
      * 
@@ -125,36 +117,8 @@ public class GraphSearch {
      * @return true if the graph contains a cycle, false otherwise
      */
     public static boolean hasCycle(List<List<Integer>> graph) {
-        int n = graph.size();
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> recursionStack = new HashSet<>();
-        
-        for (int i = 0; i < n; i++) {
-            if (!visited.contains(i) && hasCycleHelper(graph, i, visited, recursionStack)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    private static boolean hasCycleHelper(List<List<Integer>> graph, int vertex, Set<Integer> visited, Set<Integer> recursionStack) {
-        visited.add(vertex);
-        recursionStack.add(vertex);
-        
-        for (int neighbor : graph.get(vertex)) {
-            if (!visited.contains(neighbor)) {
-                if (hasCycleHelper(graph, neighbor, visited, recursionStack)) {
-                    return true;
-                }
-            } else if (recursionStack.contains(neighbor)) {
-                // If the neighbor is in the recursion stack, we found a cycle
-                return true;
-            }
-        }
-        
-        recursionStack.remove(vertex);
-        return false;
+        // Iterative DFS with an on-path mark per vertex (the "recursion stack")
+        return hasCycle(graph, new TraversalContext(graph.size()));
     }
     
     /**
@@ -313,67 +277,511 @@ public class GraphSearch {
      */
     public static List<Integer> topologicalSort(List<List<Integer>> graph) {
         int n = graph.size();
-        LinkedList<Integer> result = new LinkedList<>();
         boolean[] visited = new boolean[n];
         boolean[] inStack = new boolean[n];
+        int[] path = new int[n];    // Explicit DFS stack
+        int[] cursor = new int[n];  // Next neighbor index of each vertex on the stack
+        int[] order = new int[n];
+        int next = n;               // Finished vertices fill order from the back (reverse postorder)
         
         for (int i = 0; i < n; i++) {
-            if (!visited[i] && !topologicalSortHelper(graph, i, visited, inStack, result)) {
-                return new ArrayList<>(); // Graph has a cycle
+            if (visited[i]) {
+                continue;
+            }
+            
+            int top = 0;
+            path[0] = i;
+            cursor[0] = 0;
+            visited[i] = true;
+            inStack[i] = true;
+            
+            while (top >= 0) {
+                int vertex = path[top];
+                List<Integer> neighbors = graph.get(vertex);
+                
+                if (cursor[top] == neighbors.size()) {
+                    inStack[vertex] = false;
+                    order[--next] = vertex;
+                    top--;
+                    continue;
+                }
+                
+                int neighbor = neighbors.get(cursor[top]++);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    inStack[neighbor] = true;
+                    top++;
+                    path[top] = neighbor;
+                    cursor[top] = 0;
+                } else if (inStack[neighbor]) {
+                    return new ArrayList<>(); // Graph has a cycle
+                }
             }
         }
         
+        List<Integer> result = new ArrayList<>(n);
+        for (int vertex : order) {
+            result.add(vertex);
+        }
+        
         return result;
     }
     
-    private static boolean topologicalSortHelper(List<List<Integer>> graph, int vertex, boolean[] visited, boolean[] inStack, LinkedList<Integer> result) {
-        visited[vertex] = true;
-        inStack[vertex] = true;
+    /**
+     * Counts the number of connected components in an undirected graph
+     * 
+     * @param graph the adjacency list representation of the graph
+     * @return the number of connected components
+     */
+    public static int countConnectedComponents(List<List<Integer>> graph) {
+        int n = graph.size();
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n]; // Vertices are marked when pushed, so each is pushed at most once
+        int count = 0;
         
-        for (int neighbor : graph.get(vertex)) {
-            if (!visited[neighbor]) {
-                if (!topologicalSortHelper(graph, neighbor, visited, inStack, result)) {
-                    return false;
+        for (int i = 0; i < n; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            
+            count++;
+            int top = 0;
+            stack[top++] = i;
+            visited[i] = true;
+            
+            // Mark the whole component
+            while (top > 0) {
+                List<Integer> neighbors = graph.get(stack[--top]);
+                for (int j = 0, degree = neighbors.size(); j < degree; j++) {
+                    int neighbor = neighbors.get(j);
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        stack[top++] = neighbor;
+                    }
                 }
-            } else if (inStack[neighbor]) {
-                return false; // Cycle detected
             }
         }
         
-        inStack[vertex] = false;
-        result.addFirst(vertex); // Add in reverse order
-        return true;
+        return count;
     }
     
+    // ==================== REUSABLE-CONTEXT VERSIONS ====================
+    // Visited marks, stacks and queues live in a TraversalContext (epoch-stamped int[] and
+    // primitive int arrays), so repeated traversals allocate nothing after warm-up.
+    // The visiting order is left in the context instead of a new List.
+    
     /**
-     * Counts the number of connected components in an undirected graph
+     * Performs DFS using a reusable context; same order as dfs and dfsIterative
      * 
      * @param graph the adjacency list representation of the graph
-     * @return the number of connected components
+     * @param start the starting vertex
+     * @param context scratch state, receives the visiting order
+     * @return the number of vertices visited
      */
-    public static int countConnectedComponents(List<List<Integer>> graph) {
+    public static int dfs(List<List<Integer>> graph, int start, TraversalContext context) {
+        context.reset(graph.size());
+        int[] path = context.path;
+        int[] cursor = context.cursor;
+        int[] order = context.order;
+        int size = 0;
+        
+        int top = 0;
+        path[0] = start;
+        cursor[0] = 0;
+        context.visit(start);
+        order[size++] = start;
+        
+        while (top >= 0) {
+            List<Integer> neighbors = graph.get(path[top]);
+            int degree = neighbors.size();
+            int i = cursor[top];
+            
+            // Find (and claim) the next unvisited neighbor
+            while (i < degree && !context.visit(neighbors.get(i))) {
+                i++;
+            }
+            
+            if (i == degree) {
+                top--; // No unvisited neighbors, backtrack
+                continue;
+            }
+            
+            cursor[top] = i + 1;
+            int neighbor = neighbors.get(i);
+            order[size++] = neighbor;
+            
+            top++;
+            path[top] = neighbor;
+            cursor[top] = 0;
+        }
+        
+        context.size = size;
+        return size;
+    }
+    
+    /**
+     * Performs BFS using a reusable context
+     * 
+     * @param graph the adjacency list representation of the graph
+     * @param start the starting vertex
+     * @param context scratch state, receives the visiting order
+     * @return the number of vertices visited
+     */
+    public static int bfs(List<List<Integer>> graph, int start, TraversalContext context) {
+        context.reset(graph.size());
+        int[] queue = context.order; // Each vertex is enqueued once, so the queue is the BFS order
+        int head = 0;
+        int tail = 0;
+        
+        queue[tail++] = start;
+        context.visit(start);
+        
+        while (head < tail) {
+            List<Integer> neighbors = graph.get(queue[head++]);
+            
+            for (int i = 0, degree = neighbors.size(); i < degree; i++) {
+                int neighbor = neighbors.get(i);
+                if (context.visit(neighbor)) {
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        
+        context.size = tail;
+        return tail;
+    }
+    
+    /**
+     * Checks if a graph contains a cycle using a reusable context
+     * 
+     * @param graph the adjacency list representation of the graph
+     * @param context scratch state
+     * @return true if the graph contains a cycle, false otherwise
+     */
+    public static boolean hasCycle(List<List<Integer>> graph, TraversalContext context) {
         int n = graph.size();
+        context.reset(n);
+        int[] path = context.path;
+        int[] cursor = context.cursor;
+        
+        for (int i = 0; i < n; i++) {
+            if (!context.visit(i)) {
+                continue;
+            }
+            
+            int top = 0;
+            path[0] = i;
+            cursor[0] = 0;
+            context.enterPath(i);
+            
+            while (top >= 0) {
+                int vertex = path[top];
+                List<Integer> neighbors = graph.get(vertex);
+                int index = cursor[top];
+                
+                if (index == neighbors.size()) {
+                    context.leavePath(vertex);
+                    top--;
+                    continue;
+                }
+                
+                cursor[top] = index + 1;
+                int neighbor = neighbors.get(index);
+                
+                if (context.visit(neighbor)) {
+                    context.enterPath(neighbor);
+                    top++;
+                    path[top] = neighbor;
+                    cursor[top] = 0;
+                } else if (context.onPath(neighbor)) {
+                    return true; // Back edge to a vertex on the current path
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Performs DFS on a CSR graph using a reusable context
+     * 
+     * @param graph the CSR graph
+     * @param start the starting vertex
+     * @param context scratch state, receives the visiting order
+     * @return the number of vertices visited
+     */
+    public static int dfs(CompactGraph graph, int start, TraversalContext context) {
+        context.reset(graph.vertexCount());
+        int[] path = context.path;
+        int[] cursor = context.cursor;
+        int[] order = context.order;
+        int size = 0;
+        
+        int top = 0;
+        path[0] = start;
+        cursor[0] = graph.edgeStart(start);
+        context.visit(start);
+        order[size++] = start;
+        
+        while (top >= 0) {
+            int edge = cursor[top];
+            int end = graph.edgeEnd(path[top]);
+            
+            while (edge < end && !context.visit(graph.target(edge))) {
+                edge++;
+            }
+            
+            if (edge == end) {
+                top--;
+                continue;
+            }
+            
+            cursor[top] = edge + 1;
+            int neighbor = graph.target(edge);
+            order[size++] = neighbor;
+            
+            top++;
+            path[top] = neighbor;
+            cursor[top] = graph.edgeStart(neighbor);
+        }
+        
+        context.size = size;
+        return size;
+    }
+    
+    /**
+     * Performs BFS on a CSR graph using a reusable context
+     * 
+     * @param graph the CSR graph
+     * @param start the starting vertex
+     * @param context scratch state, receives the visiting order
+     * @return the number of vertices visited
+     */
+    public static int bfs(CompactGraph graph, int start, TraversalContext context) {
+        context.reset(graph.vertexCount());
+        int[] queue = context.order;
+        int head = 0;
+        int tail = 0;
+        
+        queue[tail++] = start;
+        context.visit(start);
+        
+        while (head < tail) {
+            int vertex = queue[head++];
+            
+            for (int e = graph.edgeStart(vertex), end = graph.edgeEnd(vertex); e < end; e++) {
+                int neighbor = graph.target(e);
+                if (context.visit(neighbor)) {
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        
+        context.size = tail;
+        return tail;
+    }
+    
+    // ==================== CSR GRAPH VERSIONS ====================
+    // Same algorithms over an immutable CSR graph (a heap CsrGraph or a file-backed
+    // MappedCsrGraph): primitive arrays instead of boxed collections, explicit stacks
+    // instead of recursion, and the same visiting order.
+    
+    /**
+     * Performs DFS on a CSR graph
+     * 
+     * @param graph the CSR graph
+     * @param start the starting vertex
+     * @return the vertices in DFS order (same order as the recursive dfs)
+     */
+    public static int[] dfs(CompactGraph graph, int start) {
+        TraversalContext context = new TraversalContext(graph.vertexCount());
+        dfs(graph, start, context);
+        return context.toArray();
+    }
+    
+    /**
+     * Performs BFS on a CSR graph
+     * 
+     * @param graph the CSR graph
+     * @param start the starting vertex
+     * @return the vertices in BFS order
+     */
+    public static int[] bfs(CompactGraph graph, int start) {
+        TraversalContext context = new TraversalContext(graph.vertexCount());
+        bfs(graph, start, context);
+        return context.toArray();
+    }
+    
+    /**
+     * Checks if a CSR graph contains a cycle
+     * 
+     * @param graph the CSR graph
+     * @return true if the graph contains a cycle, false otherwise
+     */
+    public static boolean hasCycle(CompactGraph graph) {
+        return topologicalOrder(graph) == null;
+    }
+    
+    /**
+     * Performs topological sort on a CSR graph
+     * 
+     * @param graph the CSR graph
+     * @return the topologically sorted vertices (same order as the recursive version),
+     *         or an empty array if the graph has a cycle
+     */
+    public static int[] topologicalSort(CompactGraph graph) {
+        int[] order = topologicalOrder(graph);
+        return order == null ? new int[0] : order;
+    }
+    
+    /**
+     * Iterative DFS that fills the result from the back as vertices finish, which is the
+     * reverse postorder the recursive version builds with addFirst
+     * 
+     * @return the topological order, or null if a back edge (cycle) was found
+     */
+    private static int[] topologicalOrder(CompactGraph graph) {
+        int n = graph.vertexCount();
         boolean[] visited = new boolean[n];
-        int count = 0;
+        boolean[] inStack = new boolean[n];
+        int[] path = new int[n];
+        int[] cursor = new int[n];
+        int[] result = new int[n];
+        int next = n;
         
         for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                count++;
-                dfsMarkComponent(graph, i, visited);
+            if (visited[i]) {
+                continue;
+            }
+            
+            int top = 0;
+            path[0] = i;
+            cursor[0] = graph.edgeStart(i);
+            visited[i] = true;
+            inStack[i] = true;
+            
+            while (top >= 0) {
+                int vertex = path[top];
+                int edge = cursor[top];
+                
+                if (edge == graph.edgeEnd(vertex)) {
+                    inStack[vertex] = false;
+                    result[--next] = vertex;
+                    top--;
+                    continue;
+                }
+                
+                cursor[top] = edge + 1;
+                int neighbor = graph.target(edge);
+                
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    inStack[neighbor] = true;
+                    top++;
+                    path[top] = neighbor;
+                    cursor[top] = graph.edgeStart(neighbor);
+                } else if (inStack[neighbor]) {
+                    return null; // Cycle detected
+                }
             }
         }
         
-        return count;
+        return result;
     }
     
-    private static void dfsMarkComponent(List<List<Integer>> graph, int vertex, boolean[] visited) {
-        visited[vertex] = true;
+    /**
+     * Finds the shortest path between two vertices of a CSR graph using BFS
+     * 
+     * @param graph the CSR graph
+     * @param start the starting vertex
+     * @param end the target vertex
+     * @return the shortest path from start to end, or an empty array if no path exists
+     */
+    public static int[] shortestPath(CompactGraph graph, int start, int end) {
+        if (start == end) {
+            return new int[] {start};
+        }
         
-        for (int neighbor : graph.get(vertex)) {
-            if (!visited[neighbor]) {
-                dfsMarkComponent(graph, neighbor, visited);
+        int n = graph.vertexCount();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        parent[start] = start; // Marks start as visited; reset before reconstructing
+        
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        
+        while (head < tail) {
+            int vertex = queue[head++];
+            
+            for (int e = graph.edgeStart(vertex), last = graph.edgeEnd(vertex); e < last; e++) {
+                int neighbor = graph.target(e);
+                if (parent[neighbor] == -1) {
+                    parent[neighbor] = vertex;
+                    queue[tail++] = neighbor;
+                    
+                    if (neighbor == end) {
+                        parent[start] = -1;
+                        return reconstructPath(parent, end);
+                    }
+                }
+            }
+        }
+        
+        return new int[0]; // No path found
+    }
+    
+    private static int[] reconstructPath(int[] parent, int end) {
+        int length = 0;
+        for (int at = end; at != -1; at = parent[at]) {
+            length++;
+        }
+        
+        int[] path = new int[length];
+        for (int at = end; at != -1; at = parent[at]) {
+            path[--length] = at;
+        }
+        
+        return path;
+    }
+    
+    /**
+     * Counts the number of connected components in an undirected CSR graph
+     * (every edge stored in both directions)
+     * 
+     * @param graph the CSR graph
+     * @return the number of connected components
+     */
+    public static int countConnectedComponents(CompactGraph graph) {
+        int n = graph.vertexCount();
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n]; // Vertices are marked when pushed, so each is pushed at most once
+        int count = 0;
+        
+        for (int i = 0; i < n; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            
+            count++;
+            int top = 0;
+            stack[top++] = i;
+            visited[i] = true;
+            
+            while (top > 0) {
+                int vertex = stack[--top];
+                for (int e = graph.edgeStart(vertex), end = graph.edgeEnd(vertex); e < end; e++) {
+                    int neighbor = graph.target(e);
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        stack[top++] = neighbor;
+                    }
+                }
             }
         }
+        
+        return count;
     }
     
     /**
@@ -431,7 +839,7 @@ public class GraphSearch {
         
         System.out.println("\n=== DFS Traversal ===");
         List<Integer> dfsResult = dfs(directedGraph, 0);
-        System.out.println("Recursive: " + dfsResult);
+        System.out.println("Explicit stack: " + dfsResult);
         
         List<Integer> dfsIterResult = dfsIterative(directedGraph, 0);
         System.out.println("Iterative: " + dfsIterResult);
@@ -465,6 +873,184 @@ public class GraphSearch {
         System.out.println("\n=== Bidirectional Search ===");
         List<Integer> biPath = bidirectionalSearch(undirectedGraph, 0, 6);
         System.out.println("Bidirectional path from 0 to 6: " + biPath);
+        
+        // Same queries over CSR graphs
+        CsrGraph directedCsr = CsrGraph.fromAdjacencyList(directedGraph);
+        CsrGraph undirectedCsr = CsrGraph.fromAdjacencyList(undirectedGraph);
+        
+        System.out.println("\n=== CSR GRAPH ===");
+        System.out.println(directedCsr);
+        System.out.println("DFS: " + Arrays.toString(dfs(directedCsr, 0)));
+        System.out.println("BFS: " + Arrays.toString(bfs(directedCsr, 0)));
+        System.out.println("Has cycle: " + hasCycle(directedCsr));
+        System.out.println("Shortest path from 0 to 5: " + Arrays.toString(shortestPath(directedCsr, 0, 5)));
+        System.out.println("Topological sort: " + Arrays.toString(topologicalSort(directedCsr)));
+        System.out.println("Connected components (undirected): " + countConnectedComponents(undirectedCsr));
+        
+        System.out.println("\n=== Reusable TraversalContext ===");
+        TraversalContext context = new TraversalContext();
+        dfs(directedGraph, 0, context);
+        System.out.println("DFS: " + Arrays.toString(context.toArray()));
+        bfs(directedGraph, 0, context);
+        System.out.println("BFS: " + Arrays.toString(context.toArray()));
+        System.out.println("Has cycle: " + hasCycle(directedGraph, context));
+        
+        // After warm-up, repeated traversals should not allocate at all
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long visitedTotal = 0;
+        for (int round = 0; round < 200_000; round++) {
+            visitedTotal += dfs(undirectedGraph, round % 7, context) + bfs(directedGraph, 0, context);
+            visitedTotal += hasCycle(undirectedGraph, context) ? 1 : 0;
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int round = 0; round < 100_000; round++) {
+            visitedTotal += dfs(undirectedGraph, round % 7, context) + bfs(directedGraph, 0, context);
+            visitedTotal += hasCycle(undirectedGraph, context) ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+        System.out.println("Bytes allocated by 300000 warm traversals: " + allocated + " (checksum " + visitedTotal + ")");
+        
+        // Usage: GraphSearch [vertices] [edgesPerVertex], e.g. 10000000 10 (with -Xmx4g) for 100M edges
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        benchmarkCsr(vertices, degree);
+        
+        stressDeepPathGraph(10_000_000);
+    }
+    
+    /**
+     * Runs the DFS-based algorithms on a path graph 0 -> 1 -> ... -> n-1, which needs an
+     * n-deep DFS; the recursive versions threw StackOverflowError here at the default -Xss
+     */
+    private static void stressDeepPathGraph(int vertices) {
+        System.out.println("\n=== DEEP PATH GRAPH (" + vertices + " vertices) ===");
+        
+        List<List<Integer>> path = new ArrayList<>(vertices);
+        for (int v = 0; v < vertices; v++) {
+            path.add(v + 1 < vertices ? Collections.singletonList(v + 1) : Collections.emptyList());
+        }
+        
+        long t0 = System.nanoTime();
+        List<Integer> dfsOrder = dfs(path, 0);
+        long t1 = System.nanoTime();
+        System.out.printf("List dfs: %d vertices, last %d, %d ms%n",
+                dfsOrder.size(), dfsOrder.get(dfsOrder.size() - 1), (t1 - t0) / 1_000_000);
+        dfsOrder = null;
+        
+        t0 = System.nanoTime();
+        boolean cycle = hasCycle(path);
+        t1 = System.nanoTime();
+        System.out.printf("List hasCycle: %b, %d ms%n", cycle, (t1 - t0) / 1_000_000);
+        
+        t0 = System.nanoTime();
+        List<Integer> topoOrder = topologicalSort(path);
+        t1 = System.nanoTime();
+        System.out.printf("List topologicalSort: %d vertices, first %d, last %d, %d ms%n",
+                topoOrder.size(), topoOrder.get(0), topoOrder.get(topoOrder.size() - 1), (t1 - t0) / 1_000_000);
+        topoOrder = null;
+        
+        t0 = System.nanoTime();
+        int components = countConnectedComponents(path);
+        t1 = System.nanoTime();
+        System.out.printf("List countConnectedComponents: %d, %d ms%n", components, (t1 - t0) / 1_000_000);
+        
+        CsrGraph csr = CsrGraph.fromAdjacencyList(path);
+        path = null;
+        
+        t0 = System.nanoTime();
+        int dfsCount = dfs(csr, 0).length;
+        int sorted = topologicalSort(csr).length;
+        boolean csrCycle = hasCycle(csr);
+        t1 = System.nanoTime();
+        System.out.printf("CSR dfs + topologicalSort + hasCycle: %d, %d, %b, %d ms%n",
+                dfsCount, sorted, csrCycle, (t1 - t0) / 1_000_000);
+        
+        // Closing the path into a ring must be detected as a cycle
+        CsrGraph.Builder ring = new CsrGraph.Builder(vertices);
+        for (int v = 0; v < vertices; v++) {
+            ring.addEdge(v, (v + 1) % vertices);
+        }
+        System.out.println("CSR ring hasCycle: " + hasCycle(ring.build()));
+    }
+    
+    /**
+     * Compares the List<List<Integer>> and CSR versions on a random undirected graph
+     * (traversals, components) and a random DAG (cycle check, topological sort).
+     * The List versions are skipped above 20M edges, where their boxed edges no longer
+     * fit a default heap.
+     */
+    private static void benchmarkCsr(int vertices, int degree) {
+        System.out.println("\n=== CSR BENCHMARK (" + vertices + " vertices, " + (long) vertices * degree + " edges) ===");
+        
+        SplittableRandom random = new SplittableRandom(42);
+        CsrGraph.Builder undirected = new CsrGraph.Builder(vertices);
+        CsrGraph.Builder dag = new CsrGraph.Builder(vertices);
+        for (int v = 0; v < vertices; v++) {
+            for (int k = 0; k < degree / 2; k++) {
+                undirected.addUndirectedEdge(v, random.nextInt(vertices));
+            }
+            if (v + 1 < vertices) {
+                for (int k = 0; k < degree; k++) {
+                    dag.addEdge(v, v + 1 + random.nextInt(Math.min(vertices - v - 1, 1000)));
+                }
+            }
+        }
+        
+        long startTime = System.nanoTime();
+        CsrGraph graph = undirected.build();
+        CsrGraph dagGraph = dag.build();
+        System.out.printf("Build: %d ms%n", (System.nanoTime() - startTime) / 1_000_000);
+        undirected = null;
+        dag = null;
+        
+        int target = vertices - 1;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            int dfsCount = dfs(graph, 0).length;
+            long t1 = System.nanoTime();
+            int bfsCount = bfs(graph, 0).length;
+            long t2 = System.nanoTime();
+            int pathLength = shortestPath(graph, 0, target).length;
+            long t3 = System.nanoTime();
+            int components = countConnectedComponents(graph);
+            long t4 = System.nanoTime();
+            boolean cycle = hasCycle(dagGraph);
+            long t5 = System.nanoTime();
+            int sorted = topologicalSort(dagGraph).length;
+            long t6 = System.nanoTime();
+            
+            System.out.printf("CSR:  dfs %d ms (%d), bfs %d ms (%d), path %d ms (%d), components %d ms (%d), "
+                    + "hasCycle %d ms (%b), topoSort %d ms (%d)%n",
+                    (t1 - t0) / 1_000_000, dfsCount, (t2 - t1) / 1_000_000, bfsCount, (t3 - t2) / 1_000_000, pathLength,
+                    (t4 - t3) / 1_000_000, components, (t5 - t4) / 1_000_000, cycle, (t6 - t5) / 1_000_000, sorted);
+        }
+        
+        if ((long) vertices * degree > 20_000_000L) {
+            System.out.println("List: skipped (too many edges for boxed adjacency lists)");
+            return;
+        }
+        
+        List<List<Integer>> list = graph.toAdjacencyList();
+        List<List<Integer>> dagList = dagGraph.toAdjacencyList();
+        long t0 = System.nanoTime();
+        int dfsCount = dfs(list, 0).size();
+        long t1 = System.nanoTime();
+        int bfsCount = bfs(list, 0).size();
+        long t2 = System.nanoTime();
+        int pathLength = shortestPath(list, 0, target).size();
+        long t3 = System.nanoTime();
+        int components = countConnectedComponents(list);
+        long t4 = System.nanoTime();
+        boolean cycle = hasCycle(dagList);
+        long t5 = System.nanoTime();
+        int sorted = topologicalSort(dagList).size();
+        long t6 = System.nanoTime();
+        
+        System.out.printf("List: dfs %d ms (%d), bfs %d ms (%d), path %d ms (%d), components %d ms (%d), "
+                + "hasCycle %d ms (%b), topoSort %d ms (%d)%n",
+                (t1 - t0) / 1_000_000, dfsCount, (t2 - t1) / 1_000_000, bfsCount, (t3 - t2) / 1_000_000, pathLength,
+                (t4 - t3) / 1_000_000, components, (t5 - t4) / 1_000_000, cycle, (t6 - t5) / 1_000_000, sorted);
     }
     
     /**
@@ -0,0 +1,221 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap of int items (e.g. vertices) with double keys
+ * 
+ * Items and keys are stored in parallel primitive arrays, and position[item] records each
+ * item's slot, so decreaseKey runs in O(log_d n) without boxing or searching. A wider node
+ * (d = 4 by default) makes the tree shallower: decreaseKey, the common operation in
+ * Dijkstra, gets cheaper while poll compares more children that sit in the same cache line.
+ * 
+ * Time Complexity: O(log_d n) insert and decreaseKey, O(d log_d n) poll, O(size) clear
+ * Space Complexity: O(capacity)
+ */
+public class IndexedDaryHeap {
+    
+    public static final int DEFAULT_ARITY = 4;
+    
+    private final int arity;
+    private int[] items;
+    private double[] keys;
+    private int[] position; // Slot of each item, -1 if absent
+    private int size;
+    
+    /**
+     * @param capacity items must lie in [0, capacity)
+     */
+    public IndexedDaryHeap(int capacity) {
+        this(DEFAULT_ARITY, capacity);
+    }
+    
+    public IndexedDaryHeap(int arity, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+        this.arity = arity;
+        this.items = new int[Math.max(1, capacity)];
+        this.keys = new double[Math.max(1, capacity)];
+        this.position = new int[Math.max(1, capacity)];
+        Arrays.fill(position, -1);
+    }
+    
+    /**
+     * Grows the heap so items in [0, capacity) can be stored
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            int old = position.length;
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, old, capacity, -1);
+            items = Arrays.copyOf(items, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+    
+    /**
+     * @return the key of an item in the heap
+     */
+    public double keyOf(int item) {
+        int slot = position[item];
+        if (slot < 0) {
+            throw new NoSuchElementException("Not in heap: " + item);
+        }
+        return keys[slot];
+    }
+    
+    public void insert(int item, double key) {
+        if (position[item] >= 0) {
+            throw new IllegalArgumentException("Already in heap: " + item);
+        }
+        items[size] = item;
+        keys[size] = key;
+        position[item] = size;
+        siftUp(size++);
+    }
+    
+    public void decreaseKey(int item, double key) {
+        int slot = position[item];
+        if (slot < 0) {
+            throw new NoSuchElementException("Not in heap: " + item);
+        }
+        if (key > keys[slot]) {
+            throw new IllegalArgumentException("New key is larger: " + key + " > " + keys[slot]);
+        }
+        keys[slot] = key;
+        siftUp(slot);
+    }
+    
+    /**
+     * Inserts the item, or lowers its key if it is already in the heap with a larger one
+     * 
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int item, double key) {
+        int slot = position[item];
+        if (slot < 0) {
+            insert(item, key);
+            return true;
+        }
+        if (key < keys[slot]) {
+            keys[slot] = key;
+            siftUp(slot);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * @return the item with the smallest key, without removing it
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return items[0];
+    }
+    
+    /**
+     * @return the smallest key
+     */
+    public double peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[0];
+    }
+    
+    /**
+     * Removes and returns the item with the smallest key
+     */
+    public int poll() {
+        int top = peek();
+        position[top] = -1;
+        size--;
+        
+        if (size > 0) {
+            items[0] = items[size];
+            keys[0] = keys[size];
+            position[items[0]] = 0;
+            siftDown(0);
+        }
+        
+        return top;
+    }
+    
+    /**
+     * Removes all items; costs O(size), not O(capacity), so the heap can be reused per query
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[items[i]] = -1;
+        }
+        size = 0;
+    }
+    
+    private void siftUp(int slot) {
+        int item = items[slot];
+        double key = keys[slot];
+        
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            items[slot] = items[parent];
+            keys[slot] = keys[parent];
+            position[items[slot]] = slot;
+            slot = parent;
+        }
+        
+        items[slot] = item;
+        keys[slot] = key;
+        position[item] = slot;
+    }
+    
+    private void siftDown(int slot) {
+        int item = items[slot];
+        double key = keys[slot];
+        
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            
+            int best = first;
+            int last = Math.min(first + arity, size);
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < keys[best]) {
+                    best = child;
+                }
+            }
+            
+            if (keys[best] >= key) {
+                break;
+            }
+            items[slot] = items[best];
+            keys[slot] = keys[best];
+            position[items[slot]] = slot;
+            slot = best;
+        }
+        
+        items[slot] = item;
+        keys[slot] = key;
+        position[item] = slot;
+    }
+}
@@ -0,0 +1,360 @@
+package com.interview.problems.graphs;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Read-only CSR graph backed by a memory-mapped binary file
+ * 
+ * A List<List<Integer>> or even a CsrGraph must fit on the heap and be parsed on every
+ * start. This class stores the CSR arrays in a file and maps them with FileChannel.map:
+ * opening reads a 32-byte header, and the OS pages the offsets and targets in on demand,
+ * so startup is near-instant and the graph can be larger than the heap. GraphSearch's CSR
+ * traversals accept it directly through CompactGraph.
+ * 
+ * File layout (little-endian):
+ * - header: magic "CSRG", version, flags (bit 0 = weighted), vertex count (int),
+ *   edge count (long), reserved (long)
+ * - offsets: int[vertexCount + 1]
+ * - targets: int[edgeCount]
+ * - weights: double[edgeCount], 8-byte aligned, only if weighted
+ * 
+ * The file is written from an edge-list text file by a streaming builder that keeps no
+ * per-edge or per-vertex state on the heap: it counts degrees and places edges directly
+ * in the mapped file, in three passes over the edge list.
+ * 
+ * Edge indices are ints, as in CsrGraph, so a file holds at most 2^31 - 1 edges (8 GB of
+ * targets). A single mapping is limited to 2 GB, so arrays are mapped in segments.
+ * 
+ * Time Complexity: O(1) to open, O(1) per edge access; writing is O(V + E) in three passes
+ * Space Complexity: O(1) heap; 4 * (V + 1 + E) bytes of file (+ 8 * E if weighted)
+ */
+public class MappedCsrGraph implements CompactGraph {
+    
+    static final int MAGIC = 0x47525343; // "CSRG" when read as little-endian bytes
+    static final int VERSION = 1;
+    static final int FLAG_WEIGHTED = 1;
+    static final int HEADER_BYTES = 32;
+    
+    // 2^27 elements per mapping: 512 MB of ints, 1 GB of doubles
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    
+    private final int vertexCount;
+    private final int edgeCount;
+    private final IntBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights; // null if unweighted
+    
+    private MappedCsrGraph(int vertexCount, int edgeCount, IntBuffer[] offsets, IntBuffer[] targets, DoubleBuffer[] weights) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+    
+    /**
+     * Maps a graph file written by write; the channel is closed again, the mappings stay valid
+     * 
+     * @param file the binary CSR file
+     * @return the mapped graph
+     */
+    public static MappedCsrGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a CSR graph file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported CSR graph file version " + header.getInt(4) + ": " + file);
+            }
+            
+            boolean weighted = (header.getInt(8) & FLAG_WEIGHTED) != 0;
+            int vertexCount = header.getInt(12);
+            long edgeCount = header.getLong(16);
+            if (vertexCount < 0 || vertexCount == Integer.MAX_VALUE || edgeCount < 0 || edgeCount > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt CSR graph header: " + file);
+            }
+            if (channel.size() < fileSize(vertexCount, edgeCount, weighted)) {
+                throw new IOException("Truncated CSR graph file: " + file);
+            }
+            
+            IntBuffer[] offsets = mapInts(channel, MapMode.READ_ONLY, HEADER_BYTES, vertexCount + 1L, null);
+            IntBuffer[] targets = mapInts(channel, MapMode.READ_ONLY, targetsPosition(vertexCount), edgeCount, null);
+            DoubleBuffer[] weights = weighted
+                    ? mapDoubles(channel, MapMode.READ_ONLY, weightsPosition(vertexCount, edgeCount), edgeCount, null)
+                    : null;
+            
+            return new MappedCsrGraph(vertexCount, (int) edgeCount, offsets, targets, weights);
+        }
+    }
+    
+    /**
+     * Converts an edge-list text file into a binary CSR file
+     * 
+     * Same edge-list syntax as CsrGraph.readEdgeList, with a third weight column if weighted.
+     * Pass 1 finds the vertex and edge counts to size the file, pass 2 counts out-degrees
+     * into the mapped offsets array, pass 3 places every edge at its source's cursor. Each
+     * vertex's neighbors keep their file order, as in CsrGraph.Builder.
+     * 
+     * @param edgeList the edge-list text file
+     * @param file the binary file to create or overwrite
+     * @param weighted true if lines carry a non-negative weight column
+     */
+    public static void write(Path edgeList, Path file, boolean weighted) throws IOException {
+        // Pass 1: sizes
+        long[] counts = new long[2]; // edges, largest vertex id
+        counts[1] = -1;
+        EdgeListReader.read(edgeList, weighted, (from, to, weight) -> {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight must be finite and non-negative: " + weight);
+            }
+            counts[0]++;
+            counts[1] = Math.max(counts[1], Math.max(from, to));
+        });
+        if (counts[0] > Integer.MAX_VALUE) {
+            throw new IOException("Too many edges for int edge indices: " + counts[0]);
+        }
+        if (counts[1] >= Integer.MAX_VALUE - 1) {
+            throw new IOException("Vertex id too large: " + counts[1]);
+        }
+        int vertexCount = (int) counts[1] + 1;
+        int edgeCount = (int) counts[0];
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping past the end of the file grows it; the new space reads as zeros
+            List<MappedByteBuffer> regions = new ArrayList<>();
+            IntBuffer[] offsets = mapInts(channel, MapMode.READ_WRITE, HEADER_BYTES, vertexCount + 1L, regions);
+            IntBuffer[] targets = mapInts(channel, MapMode.READ_WRITE, targetsPosition(vertexCount), edgeCount, regions);
+            DoubleBuffer[] weights = weighted
+                    ? mapDoubles(channel, MapMode.READ_WRITE, weightsPosition(vertexCount, edgeCount), edgeCount, regions)
+                    : null;
+            
+            // Pass 2: out-degree of v into offsets[v + 1], then prefix sums give edge starts
+            EdgeListReader.read(edgeList, weighted, (from, to, weight) -> {
+                IntBuffer segment = offsets[(from + 1) >>> SEGMENT_SHIFT];
+                int index = (from + 1) & SEGMENT_MASK;
+                segment.put(index, segment.get(index) + 1);
+            });
+            int sum = 0;
+            for (int v = 0; v <= vertexCount; v++) {
+                sum += get(offsets, v);
+                put(offsets, v, sum);
+            }
+            
+            // Pass 3: offsets[v] is v's cursor and ends at the start of v + 1
+            EdgeListReader.read(edgeList, weighted, (from, to, weight) -> {
+                int slot = get(offsets, from);
+                put(offsets, from, slot + 1);
+                put(targets, slot, to);
+                if (weights != null) {
+                    weights[slot >>> SEGMENT_SHIFT].put(slot & SEGMENT_MASK, weight);
+                }
+            });
+            for (int v = vertexCount; v > 0; v--) {
+                put(offsets, v, get(offsets, v - 1));
+            }
+            put(offsets, 0, 0);
+            
+            // Header last, and only once the mapped arrays are on disk, so neither an interrupted
+            // write nor an OS crash can leave a valid header in front of incomplete data
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(weighted ? FLAG_WEIGHTED : 0).putInt(vertexCount)
+                    .putLong(edgeCount).putLong(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+    }
+    
+    private static long targetsPosition(int vertexCount) {
+        return HEADER_BYTES + 4L * (vertexCount + 1L);
+    }
+    
+    private static long weightsPosition(int vertexCount, long edgeCount) {
+        return (targetsPosition(vertexCount) + 4L * edgeCount + 7) & ~7L;
+    }
+    
+    private static long fileSize(int vertexCount, long edgeCount, boolean weighted) {
+        return weighted
+                ? weightsPosition(vertexCount, edgeCount) + 8L * edgeCount
+                : targetsPosition(vertexCount) + 4L * edgeCount;
+    }
+    
+    // Maps count ints in segments; regions, if not null, collects the mappings (e.g. to force them)
+    private static IntBuffer[] mapInts(FileChannel channel, MapMode mode, long position, long count,
+                                       List<MappedByteBuffer> regions) throws IOException {
+        IntBuffer[] segments = new IntBuffer[segmentCount(count)];
+        for (int s = 0; s < segments.length; s++) {
+            long first = (long) s << SEGMENT_SHIFT;
+            long length = Math.min(count - first, 1L << SEGMENT_SHIFT);
+            segments[s] = map(channel, mode, position + 4 * first, 4 * length, regions).asIntBuffer();
+        }
+        return segments;
+    }
+    
+    private static DoubleBuffer[] mapDoubles(FileChannel channel, MapMode mode, long position, long count,
+                                             List<MappedByteBuffer> regions) throws IOException {
+        DoubleBuffer[] segments = new DoubleBuffer[segmentCount(count)];
+        for (int s = 0; s < segments.length; s++) {
+            long first = (long) s << SEGMENT_SHIFT;
+            long length = Math.min(count - first, 1L << SEGMENT_SHIFT);
+            segments[s] = map(channel, mode, position + 8 * first, 8 * length, regions).asDoubleBuffer();
+        }
+        return segments;
+    }
+    
+    private static ByteBuffer map(FileChannel channel, MapMode mode, long position, long size,
+                                  List<MappedByteBuffer> regions) throws IOException {
+        MappedByteBuffer region = channel.map(mode, position, size);
+        if (regions != null) {
+            regions.add(region);
+        }
+        return region.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    private static int segmentCount(long count) {
+        return (int) Math.max(1, (count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+    
+    private static int get(IntBuffer[] segments, int index) {
+        return segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+    }
+    
+    private static void put(IntBuffer[] segments, int index, int value) {
+        segments[index >>> SEGMENT_SHIFT].put(index & SEGMENT_MASK, value);
+    }
+    
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+    
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+    
+    @Override
+    public int edgeStart(int vertex) {
+        return get(offsets, vertex);
+    }
+    
+    @Override
+    public int edgeEnd(int vertex) {
+        return get(offsets, vertex + 1);
+    }
+    
+    @Override
+    public int target(int edge) {
+        return get(targets, edge);
+    }
+    
+    public boolean isWeighted() {
+        return weights != null;
+    }
+    
+    /**
+     * @return the weight of the edge at the given index
+     */
+    public double weight(int edge) {
+        if (weights == null) {
+            throw new IllegalStateException("Graph has no weights");
+        }
+        return weights[edge >>> SEGMENT_SHIFT].get(edge & SEGMENT_MASK);
+    }
+    
+    @Override
+    public String toString() {
+        return "MappedCsrGraph{vertices=" + vertexCount + ", edges=" + edgeCount + ", weighted=" + isWeighted() + "}";
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        
+        Path edgeList = Files.createTempFile("graph", ".txt");
+        Path binary = Files.createTempFile("graph", ".csr");
+        try {
+            System.out.println("=== WEIGHTED ROUND TRIP ===");
+            Files.writeString(edgeList, "# from to weight\n0 1 2.5\n0 2 1\n2 1 0.25\n\n1 3 4e1\n");
+            write(edgeList, binary, true);
+            MappedCsrGraph small = open(binary);
+            System.out.println(small + ", file size " + Files.size(binary) + " bytes");
+            for (int v = 0; v < small.vertexCount(); v++) {
+                StringBuilder edges = new StringBuilder();
+                for (int e = small.edgeStart(v); e < small.edgeEnd(v); e++) {
+                    edges.append(' ').append(small.target(e)).append('(').append(small.weight(e)).append(')');
+                }
+                System.out.println("  " + v + " ->" + edges);
+            }
+            System.out.println("BFS from 0: " + Arrays.toString(GraphSearch.bfs(small, 0)));
+            
+            // Random undirected graph, every edge written in both directions
+            System.out.println("\n=== " + vertices + " VERTICES, " + ((long) vertices * degree) + " EDGES ===");
+            SplittableRandom random = new SplittableRandom(42);
+            try (BufferedWriter writer = Files.newBufferedWriter(edgeList)) {
+                for (int i = 0; i < vertices * (long) degree / 2; i++) {
+                    int u = random.nextInt(vertices);
+                    int v = random.nextInt(vertices);
+                    writer.write(u + " " + v + "\n" + v + " " + u + "\n");
+                }
+            }
+            
+            long start = System.nanoTime();
+            write(edgeList, binary, false);
+            System.out.printf("Streaming write: %d ms, %d MB text -> %d MB binary%n", (System.nanoTime() - start) / 1_000_000,
+                    Files.size(edgeList) >> 20, Files.size(binary) >> 20);
+            
+            start = System.nanoTime();
+            MappedCsrGraph mapped = open(binary);
+            System.out.printf("Open mapped:     %.3f ms (%s)%n", (System.nanoTime() - start) / 1e6, mapped);
+            
+            start = System.nanoTime();
+            CsrGraph heap = CsrGraph.readEdgeList(edgeList);
+            System.out.printf("Parse to heap:   %d ms (%s)%n", (System.nanoTime() - start) / 1_000_000, heap);
+            
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                int[] mappedBfs = GraphSearch.bfs(mapped, 0);
+                int mappedComponents = GraphSearch.countConnectedComponents(mapped);
+                long mappedTime = System.nanoTime() - start;
+                
+                start = System.nanoTime();
+                int[] heapBfs = GraphSearch.bfs(heap, 0);
+                int heapComponents = GraphSearch.countConnectedComponents(heap);
+                long heapTime = System.nanoTime() - start;
+                
+                System.out.printf("Round %d: BFS + components mapped %d ms, heap %d ms (reached %d, %d components, same: %b)%n",
+                        round + 1, mappedTime / 1_000_000, heapTime / 1_000_000, mappedBfs.length, mappedComponents,
+                        Arrays.equals(mappedBfs, heapBfs) && mappedComponents == heapComponents);
+            }
+        } finally {
+            Files.deleteIfExists(edgeList);
+            Files.deleteIfExists(binary);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.interview.problems.graphs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel connected components and strongly connected components over CSR graphs
+ * 
+ * Both return compact int[] labels: label[v] is a representative vertex of v's component,
+ * and label[r] == r for every representative, so countComponents is a single scan.
+ * 
+ * connectedComponents: lock-free concurrent union-find. Edges are processed in parallel;
+ * union links the larger root under the smaller one with a compare-and-set and find does
+ * path halving, also with compare-and-set. Because links always point to smaller ids, the
+ * final label of a component is its smallest vertex. Edge direction is ignored, so on a
+ * directed graph this gives weakly connected components.
+ * 
+ * stronglyConnectedComponents: trimming followed by forward-backward decomposition
+ * (Fleischer, Hendrickson and Pinar). Vertices without incoming or outgoing edges are
+ * peeled off as singleton components first. Then, for a subproblem, the vertices both
+ * reachable from and reaching a pivot form the pivot's SCC, and the remaining vertices
+ * split into three independent subproblems (forward-only, backward-only, neither) that
+ * run as parallel fork/join tasks.
+ * 
+ * Time Complexity: O((V + E) * alpha(V)) work for components; O(E * log V) expected work for SCC
+ * Space Complexity: O(V) besides the graph (and its transpose for SCC)
+ */
+public class ParallelComponents {
+    
+    private static final int GRAIN = 1 << 12;      // Vertices per union-find task
+    private static final int SEQUENTIAL_SCC = 1 << 12; // Subproblems below this size are not forked
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+    
+    // ==================== Connected components (union-find) ====================
+    
+    /**
+     * Labels the (weakly) connected components on the common pool
+     */
+    public static int[] connectedComponents(CsrGraph graph) {
+        return connectedComponents(graph, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Labels the (weakly) connected components
+     * 
+     * @param graph the graph; edge direction is ignored
+     * @param pool the pool to run on
+     * @return for each vertex, the smallest vertex of its component
+     */
+    public static int[] connectedComponents(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] parent = new int[n];
+        
+        RangeTask.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                parent[v] = v;
+            }
+        });
+        
+        RangeTask.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    union(parent, v, graph.target(e));
+                }
+            }
+        });
+        
+        // Parent pointers now form trees rooted at the smallest vertex; flatten them
+        RangeTask.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                parent[v] = find(parent, v);
+            }
+        });
+        
+        return parent;
+    }
+    
+    private static int find(int[] parent, int x) {
+        while (true) {
+            int p = (int) INT_ARRAY.getAcquire(parent, x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = (int) INT_ARRAY.getAcquire(parent, p);
+            if (grandparent != p) {
+                // Path halving; losing the race is harmless, parents only move closer to the root
+                INT_ARRAY.compareAndSet(parent, x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+    
+    private static void union(int[] parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            
+            // Link the larger root under the smaller one; fails if b stopped being a root
+            if (a > b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            if (INT_ARRAY.compareAndSet(parent, b, b, a)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * @return the number of components in a labeling returned by this class
+     */
+    public static int countComponents(int[] labels) {
+        int count = 0;
+        for (int v = 0; v < labels.length; v++) {
+            if (labels[v] == v) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    // ==================== Strongly connected components ====================
+    
+    /**
+     * Labels the strongly connected components on the common pool
+     */
+    public static int[] stronglyConnectedComponents(CsrGraph graph) {
+        return stronglyConnectedComponents(graph, graph.transpose(), ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Labels the strongly connected components
+     * 
+     * @param graph the directed graph
+     * @param reverse its transpose
+     * @param pool the pool to run on
+     * @return for each vertex, a representative vertex of its SCC
+     */
+    public static int[] stronglyConnectedComponents(CsrGraph graph, CsrGraph reverse, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (reverse.vertexCount() != n || reverse.edgeCount() != graph.edgeCount()) {
+            throw new IllegalArgumentException("reverse is not the transpose of graph");
+        }
+        
+        SccState state = new SccState(graph, reverse);
+        trim(state, pool);
+        
+        // Everything left forms subproblem 0
+        int remaining = 0;
+        for (int v = 0; v < n; v++) {
+            if (state.label[v] == -1) {
+                remaining++;
+            }
+        }
+        int[] vertices = new int[remaining];
+        for (int v = 0, i = 0; v < n; v++) {
+            if (state.label[v] == -1) {
+                vertices[i++] = v;
+            }
+        }
+        
+        if (remaining > 0) {
+            pool.invoke(new ForwardBackwardTask(state, vertices, 0));
+        }
+        
+        return state.label;
+    }
+    
+    /**
+     * Shared arrays; each vertex belongs to one subproblem at a time, so tasks write disjoint entries
+     */
+    private static class SccState {
+        final CsrGraph graph;
+        final CsrGraph reverse;
+        final int[] label;      // SCC representative, -1 while unassigned
+        final int[] partition;  // Current subproblem id of each unassigned vertex
+        final int[] forward;    // Stamp of the last forward search that reached the vertex
+        final int[] backward;   // Stamp of the last backward search that reached the vertex
+        final AtomicInteger ids = new AtomicInteger(1);
+        
+        SccState(CsrGraph graph, CsrGraph reverse) {
+            int n = graph.vertexCount();
+            this.graph = graph;
+            this.reverse = reverse;
+            this.label = new int[n];
+            this.partition = new int[n];
+            this.forward = new int[n];
+            this.backward = new int[n];
+            Arrays.fill(label, -1);
+        }
+    }
+    
+    /**
+     * Repeatedly removes vertices with no incoming or no outgoing edges among the remaining
+     * ones; each is its own SCC. Degrees are counted in parallel, peeling is a linear queue pass.
+     */
+    private static void trim(SccState state, ForkJoinPool pool) {
+        CsrGraph graph = state.graph;
+        CsrGraph reverse = state.reverse;
+        int n = graph.vertexCount();
+        int[] in = new int[n];
+        int[] out = new int[n];
+        
+        // Self-loops do not connect a vertex to anything else, so they are not counted
+        RangeTask.run(pool, n, GRAIN, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int o = 0;
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    o += graph.target(e) != v ? 1 : 0;
+                }
+                int i = 0;
+                for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                    i += reverse.target(e) != v ? 1 : 0;
+                }
+                out[v] = o;
+                in[v] = i;
+            }
+        });
+        
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (in[v] == 0 || out[v] == 0) {
+                state.label[v] = v;
+                queue[tail++] = v;
+            }
+        }
+        
+        while (head < tail) {
+            int v = queue[head++];
+            
+            for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                int w = graph.target(e);
+                if (w != v && state.label[w] == -1 && --in[w] == 0) {
+                    state.label[w] = w;
+                    queue[tail++] = w;
+                }
+            }
+            for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+                int u = reverse.target(e);
+                if (u != v && state.label[u] == -1 && --out[u] == 0) {
+                    state.label[u] = u;
+                    queue[tail++] = u;
+                }
+            }
+        }
+    }
+    
+    private static class ForwardBackwardTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final transient SccState state;
+        private final int[] vertices;
+        private final int id;
+        
+        ForwardBackwardTask(SccState state, int[] vertices, int id) {
+            this.state = state;
+            this.vertices = vertices;
+            this.id = id;
+        }
+        
+        @Override
+        protected void compute() {
+            // Explicit work list: small subproblems are handled here, large ones are forked
+            List<int[]> pendingVertices = new ArrayList<>();
+            List<Integer> pendingIds = new ArrayList<>();
+            List<ForwardBackwardTask> forked = new ArrayList<>();
+            pendingVertices.add(vertices);
+            pendingIds.add(id);
+            
+            while (!pendingVertices.isEmpty()) {
+                int last = pendingVertices.size() - 1;
+                int[] subset = pendingVertices.remove(last);
+                int subsetId = pendingIds.remove(last);
+                
+                for (int[] part : split(subset, subsetId)) {
+                    int partId = state.partition[part[0]];
+                    if (part.length >= SEQUENTIAL_SCC) {
+                        ForwardBackwardTask task = new ForwardBackwardTask(state, part, partId);
+                        task.fork();
+                        forked.add(task);
+                    } else {
+                        pendingVertices.add(part);
+                        pendingIds.add(partId);
+                    }
+                }
+            }
+            
+            for (ForwardBackwardTask task : forked) {
+                task.join();
+            }
+        }
+        
+        /**
+         * Labels the pivot's SCC and returns the (non-empty) remaining parts, each with a fresh
+         * partition id already assigned to its vertices
+         */
+        private int[][] split(int[] subset, int subsetId) {
+            int pivot = subset[0];
+            int forwardStamp = state.ids.getAndIncrement();
+            int backwardStamp = state.ids.getAndIncrement();
+            
+            int[] queue = new int[subset.length];
+            search(state.graph, pivot, subsetId, state.forward, forwardStamp, queue);
+            search(state.reverse, pivot, subsetId, state.backward, backwardStamp, queue);
+            
+            int forwardOnly = 0;
+            int backwardOnly = 0;
+            int neither = 0;
+            for (int v : subset) {
+                boolean f = state.forward[v] == forwardStamp;
+                boolean b = state.backward[v] == backwardStamp;
+                if (f && b) {
+                    state.label[v] = pivot;
+                } else if (f) {
+                    forwardOnly++;
+                } else if (b) {
+                    backwardOnly++;
+                } else {
+                    neither++;
+                }
+            }
+            
+            int[][] parts = {new int[forwardOnly], new int[backwardOnly], new int[neither]};
+            int[] partIds = new int[3];
+            int[] sizes = new int[3];
+            for (int p = 0; p < 3; p++) {
+                partIds[p] = parts[p].length > 0 ? state.ids.getAndIncrement() : 0;
+            }
+            
+            for (int v : subset) {
+                if (state.label[v] != -1) {
+                    continue;
+                }
+                boolean f = state.forward[v] == forwardStamp;
+                boolean b = state.backward[v] == backwardStamp;
+                int p = f ? 0 : b ? 1 : 2;
+                parts[p][sizes[p]++] = v;
+                state.partition[v] = partIds[p];
+            }
+            
+            int nonEmpty = 0;
+            for (int[] part : parts) {
+                nonEmpty += part.length > 0 ? 1 : 0;
+            }
+            int[][] result = new int[nonEmpty][];
+            for (int p = 0, i = 0; p < 3; p++) {
+                if (parts[p].length > 0) {
+                    result[i++] = parts[p];
+                }
+            }
+            return result;
+        }
+        
+        /**
+         * BFS from the pivot that only enters unassigned vertices of the same subproblem
+         */
+        private void search(CsrGraph graph, int pivot, int subsetId, int[] marks, int stamp, int[] queue) {
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = pivot;
+            marks[pivot] = stamp;
+            
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    int w = graph.target(e);
+                    if (marks[w] != stamp && state.label[w] == -1 && state.partition[w] == subsetId) {
+                        marks[w] = stamp;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+    }
+    
+    public static void main(String[] args) {
+        // Small directed example: {0, 1, 2} form a cycle, 3 -> 4 -> 3, 5 alone
+        CsrGraph small = new CsrGraph.Builder(6)
+                .addEdge(0, 1).addEdge(1, 2).addEdge(2, 0).addEdge(2, 3)
+                .addEdge(3, 4).addEdge(4, 3).addEdge(4, 5)
+                .build();
+        
+        System.out.println("=== SMALL GRAPH ===");
+        int[] weak = connectedComponents(small);
+        int[] strong = stronglyConnectedComponents(small);
+        System.out.println("Weak components:   " + Arrays.toString(weak) + " (" + countComponents(weak) + ")");
+        System.out.println("Strong components: " + Arrays.toString(strong) + " (" + countComponents(strong) + ")");
+        
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        SplittableRandom random = new SplittableRandom(13);
+        
+        // Undirected random graph with average degree 4: many small components plus a giant one
+        CsrGraph.Builder undirected = new CsrGraph.Builder(vertices);
+        for (int i = 0; i < vertices; i++) {
+            undirected.addUndirectedEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        CsrGraph graph = undirected.build();
+        undirected = null;
+        
+        System.out.println("\n=== CONNECTED COMPONENTS (" + graph + ", "
+                + ForkJoinPool.getCommonPoolParallelism() + " pool threads) ===");
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            int sequential = GraphSearch.countConnectedComponents(graph);
+            long t1 = System.nanoTime();
+            int parallel = countComponents(connectedComponents(graph));
+            long t2 = System.nanoTime();
+            System.out.printf("Sequential DFS: %d (%d ms) | union-find: %d (%d ms)%n",
+                    sequential, (t1 - t0) / 1_000_000, parallel, (t2 - t1) / 1_000_000);
+        }
+        
+        // Directed random graph with average degree 2: a giant SCC, a trimmed fringe and small cycles
+        CsrGraph.Builder directed = new CsrGraph.Builder(vertices);
+        for (int i = 0; i < 2 * vertices; i++) {
+            directed.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        CsrGraph digraph = directed.build();
+        directed = null;
+        CsrGraph reverse = digraph.transpose();
+        
+        System.out.println("\n=== STRONGLY CONNECTED COMPONENTS (" + digraph + ") ===");
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            int[] labels = stronglyConnectedComponents(digraph, reverse, ForkJoinPool.commonPool());
+            long t1 = System.nanoTime();
+            
+            int[] sizes = new int[vertices];
+            int largest = 0;
+            for (int label : labels) {
+                largest = Math.max(largest, ++sizes[label]);
+            }
+            System.out.printf("SCCs: %d, largest: %d vertices (%d ms)%n",
+                    countComponents(labels), largest, (t1 - t0) / 1_000_000);
+        }
+    }
+}
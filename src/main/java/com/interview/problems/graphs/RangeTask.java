@@ -0,0 +1,55 @@
+package com.interview.problems.graphs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join loop over an index range, shared by the parallel graph algorithms
+ * 
+ * The range [0, count) is halved recursively until a piece holds at most grain indices,
+ * and each piece is handed to the body.
+ */
+final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Work for one piece of the range
+     */
+    interface Body {
+        void run(int from, int to);
+    }
+    
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final transient Body body;
+    
+    private RangeTask(int from, int to, int grain, Body body) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.body = body;
+    }
+    
+    /**
+     * Runs body over [0, count) split into ranges of at most grain indices, on the pool;
+     * a range that is already small enough runs directly on the calling thread
+     */
+    static void run(ForkJoinPool pool, int count, int grain, Body body) {
+        if (count <= grain) {
+            body.run(0, count);
+            return;
+        }
+        pool.invoke(new RangeTask(0, count, grain, body));
+    }
+    
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new RangeTask(from, mid, grain, body), new RangeTask(mid, to, grain, body));
+    }
+}
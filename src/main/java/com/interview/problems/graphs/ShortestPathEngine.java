@@ -0,0 +1,402 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted shortest paths: Dijkstra, A* and bidirectional Dijkstra over a WeightedCsrGraph
+ * 
+ * GraphSearch.shortestPath and bidirectionalSearch count hops; this engine minimizes the sum
+ * of non-negative edge weights. The engine itself is immutable and can be shared between
+ * threads; all per-query state lives in a QueryContext (one per thread), whose distance and
+ * parent arrays are epoch-stamped and whose heaps are cleared in O(size), so a query costs
+ * only the vertices it actually touches and allocates nothing after warm-up.
+ * 
+ * - dijkstra: single-source, stops as soon as the target is settled
+ * - aStar: Dijkstra ordered by distance + heuristic estimate; with an admissible heuristic
+ *   (never overestimates) the result is still optimal, and far fewer vertices are settled
+ * - bidirectionalDijkstra: searches forward from the source and backward (on the transpose)
+ *   from the target, and stops once the two frontiers' smallest keys add up to at least the
+ *   best connection found, settling roughly two balls of half the radius
+ * 
+ * Time Complexity: O((V + E) log_d V) per query in the worst case
+ * Space Complexity: O(V) per QueryContext, O(V + E) for the graph and its transpose
+ */
+public class ShortestPathEngine {
+    
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+    
+    /**
+     * Lower bound on the remaining distance from a vertex to the target
+     */
+    @FunctionalInterface
+    public interface Heuristic {
+        double estimate(int vertex, int target);
+    }
+    
+    /**
+     * Straight-line distance between vertex coordinates, times the smallest cost per unit of
+     * length (admissible if no edge is cheaper than that)
+     */
+    public static Heuristic euclidean(double[] x, double[] y, double minCostPerUnit) {
+        return (vertex, target) -> Math.hypot(x[vertex] - x[target], y[vertex] - y[target]) * minCostPerUnit;
+    }
+    
+    /**
+     * Manhattan distance between vertex coordinates, times the smallest cost per unit of
+     * length (admissible on grids where edges move one unit along one axis)
+     */
+    public static Heuristic manhattan(double[] x, double[] y, double minCostPerUnit) {
+        return (vertex, target) -> (Math.abs(x[vertex] - x[target]) + Math.abs(y[vertex] - y[target])) * minCostPerUnit;
+    }
+    
+    /**
+     * Reusable per-thread state for queries; holds the result of the last query
+     */
+    public static class QueryContext {
+        private final double[][] distance = new double[2][];
+        private final int[][] parent = new int[2][];
+        private final int[][] stamp = new int[2][];
+        private final IndexedDaryHeap[] heap = new IndexedDaryHeap[2];
+        private int epoch;
+        
+        private int meeting = -1; // Where the forward and backward parent chains join; -1 if unreachable
+        private boolean bidirectional;
+        private double result = Double.POSITIVE_INFINITY;
+        private int settled;
+        
+        QueryContext(int n) {
+            for (int dir = FORWARD; dir <= BACKWARD; dir++) {
+                distance[dir] = new double[n];
+                parent[dir] = new int[n];
+                stamp[dir] = new int[n];
+                heap[dir] = new IndexedDaryHeap(n);
+            }
+        }
+        
+        private void begin(boolean bidirectional) {
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp[FORWARD], 0);
+                Arrays.fill(stamp[BACKWARD], 0);
+                epoch = 1;
+            }
+            heap[FORWARD].clear();
+            heap[BACKWARD].clear();
+            
+            this.bidirectional = bidirectional;
+            this.meeting = -1;
+            this.result = Double.POSITIVE_INFINITY;
+            this.settled = 0;
+        }
+        
+        private double distance(int dir, int vertex) {
+            return stamp[dir][vertex] == epoch ? distance[dir][vertex] : Double.POSITIVE_INFINITY;
+        }
+        
+        private void reach(int dir, int vertex, double dist, int from) {
+            stamp[dir][vertex] = epoch;
+            distance[dir][vertex] = dist;
+            parent[dir][vertex] = from;
+        }
+        
+        /**
+         * @return the distance found by the last query (infinity if unreachable)
+         */
+        public double getDistance() {
+            return result;
+        }
+        
+        /**
+         * After dijkstraAll, the distance from the source to any vertex; after a point-to-point
+         * query, only exact for the vertices it settled
+         */
+        public double distanceTo(int vertex) {
+            return distance(FORWARD, vertex);
+        }
+        
+        /**
+         * @return the number of vertices removed from the heaps by the last query
+         */
+        public int getSettled() {
+            return settled;
+        }
+        
+        /**
+         * @return the shortest path of the last query, or an empty array if unreachable
+         */
+        public int[] path() {
+            if (meeting < 0) {
+                return new int[0];
+            }
+            
+            int length = 0;
+            for (int at = meeting; at != -1; at = parent[FORWARD][at]) {
+                length++;
+            }
+            if (bidirectional) {
+                for (int at = parent[BACKWARD][meeting]; at != -1; at = parent[BACKWARD][at]) {
+                    length++;
+                }
+            }
+            
+            int[] path = new int[length];
+            int i = 0;
+            for (int at = meeting; at != -1; at = parent[FORWARD][at]) {
+                path[i++] = at;
+            }
+            reverse(path, i);
+            if (bidirectional) {
+                for (int at = parent[BACKWARD][meeting]; at != -1; at = parent[BACKWARD][at]) {
+                    path[i++] = at;
+                }
+            }
+            return path;
+        }
+        
+        private static void reverse(int[] array, int length) {
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+    
+    private final WeightedCsrGraph graph;
+    private final WeightedCsrGraph reverse;
+    
+    /**
+     * Engine for a directed graph; builds its transpose for bidirectional queries
+     */
+    public ShortestPathEngine(WeightedCsrGraph graph) {
+        this(graph, graph.transpose());
+    }
+    
+    /**
+     * @param graph the graph
+     * @param reverse its transpose; pass graph itself for undirected graphs
+     */
+    public ShortestPathEngine(WeightedCsrGraph graph, WeightedCsrGraph reverse) {
+        if (reverse.vertexCount() != graph.vertexCount() || reverse.edgeCount() != graph.edgeCount()) {
+            throw new IllegalArgumentException("reverse is not the transpose of graph");
+        }
+        this.graph = graph;
+        this.reverse = reverse;
+    }
+    
+    public QueryContext newContext() {
+        return new QueryContext(graph.vertexCount());
+    }
+    
+    /**
+     * Computes the distances from the source to every vertex (read them with distanceTo)
+     */
+    public void dijkstraAll(int source, QueryContext context) {
+        search(source, -1, null, context);
+    }
+    
+    /**
+     * @return the shortest distance from source to target, or infinity if unreachable
+     */
+    public double dijkstra(int source, int target, QueryContext context) {
+        return search(source, target, null, context);
+    }
+    
+    /**
+     * @param heuristic an admissible lower bound on the remaining distance to the target
+     * @return the shortest distance from source to target, or infinity if unreachable
+     */
+    public double aStar(int source, int target, Heuristic heuristic, QueryContext context) {
+        return search(source, target, heuristic, context);
+    }
+    
+    private double search(int source, int target, Heuristic heuristic, QueryContext context) {
+        context.begin(false);
+        IndexedDaryHeap heap = context.heap[FORWARD];
+        
+        context.reach(FORWARD, source, 0, -1);
+        heap.insert(source, heuristic == null ? 0 : heuristic.estimate(source, target));
+        
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            context.settled++;
+            
+            if (vertex == target) {
+                context.meeting = target;
+                context.result = context.distance[FORWARD][target];
+                return context.result;
+            }
+            
+            double dist = context.distance[FORWARD][vertex];
+            for (int e = graph.edgeStart(vertex), end = graph.edgeEnd(vertex); e < end; e++) {
+                int neighbor = graph.target(e);
+                double candidate = dist + graph.weight(e);
+                
+                if (candidate < context.distance(FORWARD, neighbor)) {
+                    context.reach(FORWARD, neighbor, candidate, vertex);
+                    // A settled vertex may come back here if the heuristic is not consistent
+                    heap.insertOrDecrease(neighbor, heuristic == null ? candidate : candidate + heuristic.estimate(neighbor, target));
+                }
+            }
+        }
+        
+        return Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * @return the shortest distance from source to target, or infinity if unreachable
+     */
+    public double bidirectionalDijkstra(int source, int target, QueryContext context) {
+        context.begin(true);
+        IndexedDaryHeap[] heaps = context.heap;
+        
+        context.reach(FORWARD, source, 0, -1);
+        heaps[FORWARD].insert(source, 0);
+        context.reach(BACKWARD, target, 0, -1);
+        heaps[BACKWARD].insert(target, 0);
+        
+        double best = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meeting = source == target ? source : -1;
+        
+        while (!heaps[FORWARD].isEmpty() && !heaps[BACKWARD].isEmpty()) {
+            double forwardKey = heaps[FORWARD].peekKey();
+            double backwardKey = heaps[BACKWARD].peekKey();
+            if (forwardKey + backwardKey >= best) {
+                break; // No connection through unsettled vertices can beat best
+            }
+            
+            // Expand the side whose frontier is closer
+            int dir = forwardKey <= backwardKey ? FORWARD : BACKWARD;
+            WeightedCsrGraph side = dir == FORWARD ? graph : reverse;
+            int vertex = heaps[dir].poll();
+            context.settled++;
+            
+            double dist = context.distance[dir][vertex];
+            for (int e = side.edgeStart(vertex), end = side.edgeEnd(vertex); e < end; e++) {
+                int neighbor = side.target(e);
+                double candidate = dist + side.weight(e);
+                
+                if (candidate < context.distance(dir, neighbor)) {
+                    context.reach(dir, neighbor, candidate, vertex);
+                    heaps[dir].insertOrDecrease(neighbor, candidate);
+                    
+                    double through = candidate + context.distance(1 - dir, neighbor);
+                    if (through < best) {
+                        best = through;
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+        
+        context.meeting = meeting;
+        context.result = best;
+        return best;
+    }
+    
+    public WeightedCsrGraph getGraph() {
+        return graph;
+    }
+    
+    public static void main(String[] args) {
+        // Small directed example
+        WeightedCsrGraph small = new WeightedCsrGraph.Builder(6)
+                .addEdge(0, 1, 7).addEdge(0, 2, 9).addEdge(0, 5, 14)
+                .addEdge(1, 2, 10).addEdge(1, 3, 15).addEdge(2, 3, 11)
+                .addEdge(2, 5, 2).addEdge(3, 4, 6).addEdge(5, 4, 9)
+                .build();
+        ShortestPathEngine smallEngine = new ShortestPathEngine(small);
+        QueryContext context = smallEngine.newContext();
+        
+        System.out.println("=== WEIGHTED SHORTEST PATHS ===");
+        System.out.println(small);
+        System.out.println("Dijkstra 0 -> 4: " + smallEngine.dijkstra(0, 4, context) + " via " + Arrays.toString(context.path()));
+        System.out.println("Bidirectional 0 -> 4: " + smallEngine.bidirectionalDijkstra(0, 4, context) + " via " + Arrays.toString(context.path()));
+        System.out.println("Dijkstra 4 -> 0: " + smallEngine.dijkstra(4, 0, context) + " via " + Arrays.toString(context.path()));
+        
+        // Road-like grid: 4-neighbor moves cost 1 to 2, so Manhattan distance is admissible
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int height = width;
+        int n = width * height;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        SplittableRandom random = new SplittableRandom(11);
+        WeightedCsrGraph.Builder builder = new WeightedCsrGraph.Builder(n);
+        
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int v = row * width + col;
+                x[v] = col;
+                y[v] = row;
+                if (col + 1 < width) {
+                    builder.addUndirectedEdge(v, v + 1, 1 + random.nextDouble());
+                }
+                if (row + 1 < height) {
+                    builder.addUndirectedEdge(v, v + width, 1 + random.nextDouble());
+                }
+            }
+        }
+        
+        WeightedCsrGraph grid = builder.build();
+        builder = null;
+        ShortestPathEngine engine = new ShortestPathEngine(grid, grid);
+        Heuristic heuristic = manhattan(x, y, 1.0);
+        context = engine.newContext();
+        
+        System.out.println("\n=== GRID BENCHMARK (" + grid + ") ===");
+        int queries = 2000;
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            // Local trips: the target lies within 100 cells of the source in each direction
+            int row = random.nextInt(height);
+            int col = random.nextInt(width);
+            sources[q] = row * width + col;
+            int targetRow = Math.max(0, Math.min(height - 1, row + random.nextInt(-100, 101)));
+            int targetCol = Math.max(0, Math.min(width - 1, col + random.nextInt(-100, 101)));
+            targets[q] = targetRow * width + targetCol;
+        }
+        
+        for (int round = 0; round < 2; round++) {
+            double[] expected = new double[queries];
+            long settledTotal = 0;
+            long start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                expected[q] = engine.dijkstra(sources[q], targets[q], context);
+                settledTotal += context.getSettled();
+            }
+            report("Dijkstra", start, queries, settledTotal);
+            
+            settledTotal = 0;
+            start = System.nanoTime();
+            int mismatches = 0;
+            for (int q = 0; q < queries; q++) {
+                double d = engine.aStar(sources[q], targets[q], heuristic, context);
+                mismatches += Math.abs(d - expected[q]) > 1e-9 ? 1 : 0;
+                settledTotal += context.getSettled();
+            }
+            report("A* (Manhattan)", start, queries, settledTotal);
+            
+            settledTotal = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                double d = engine.bidirectionalDijkstra(sources[q], targets[q], context);
+                mismatches += Math.abs(d - expected[q]) > 1e-9 ? 1 : 0;
+                settledTotal += context.getSettled();
+            }
+            report("Bidirectional Dijkstra", start, queries, settledTotal);
+            System.out.println("Distance mismatches: " + mismatches);
+        }
+        
+        engine.aStar(0, n - 1, heuristic, context);
+        System.out.printf("Corner to corner: %.3f over %d vertices%n", context.getDistance(), context.path().length);
+    }
+    
+    private static void report(String name, long start, int queries, long settledTotal) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %8.0f queries/s, %9d settled per query%n",
+                name + ":", queries / seconds, settledTotal / queries);
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch state for GraphSearch traversals
+ * 
+ * The visited set is an epoch-stamped int[]: a vertex counts as visited when its stamp
+ * equals the current epoch, so starting a new traversal is a single increment instead of
+ * clearing (or allocating) a HashSet<Integer> or boolean[]. Stacks, queues and the result
+ * are primitive int arrays that only grow, so once the arrays have reached the graph size,
+ * repeated traversals allocate nothing.
+ * 
+ * A context is not thread-safe; use one per thread.
+ * 
+ * Time Complexity: O(1) to start a traversal (O(V) once every 2^31 traversals, when the epoch wraps)
+ * Space Complexity: O(V)
+ */
+public class TraversalContext {
+    
+    private int[] visitedStamp;
+    private int[] pathStamp;
+    private int epoch;
+    
+    // Scratch arrays used directly by GraphSearch
+    int[] order;   // Visiting order of the last traversal (also the BFS queue)
+    int[] path;    // Vertices on the current DFS path
+    int[] cursor;  // Next neighbor index for each vertex on the path
+    int size;      // Number of vertices in order
+    
+    public TraversalContext() {
+        this(16);
+    }
+    
+    /**
+     * @param expectedVertices initial capacity, to avoid growing on the first traversals
+     */
+    public TraversalContext(int expectedVertices) {
+        int capacity = Math.max(1, expectedVertices);
+        visitedStamp = new int[capacity];
+        pathStamp = new int[capacity];
+        order = new int[capacity];
+        path = new int[capacity];
+        cursor = new int[capacity];
+    }
+    
+    /**
+     * Starts a new traversal over a graph with n vertices: forgets all visited marks
+     */
+    void reset(int n) {
+        if (visitedStamp.length < n) {
+            int capacity = Math.max(n, (int) Math.min(Integer.MAX_VALUE - 8, visitedStamp.length * 2L));
+            visitedStamp = new int[capacity];
+            pathStamp = new int[capacity];
+            order = new int[capacity];
+            path = new int[capacity];
+            cursor = new int[capacity];
+            epoch = 0;
+        }
+        
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamp, 0);
+            Arrays.fill(pathStamp, 0);
+            epoch = 1;
+        }
+        size = 0;
+    }
+    
+    /**
+     * Marks a vertex as visited
+     * 
+     * @return true if it was not visited before in this traversal
+     */
+    boolean visit(int vertex) {
+        if (visitedStamp[vertex] == epoch) {
+            return false;
+        }
+        visitedStamp[vertex] = epoch;
+        return true;
+    }
+    
+    void enterPath(int vertex) {
+        pathStamp[vertex] = epoch;
+    }
+    
+    void leavePath(int vertex) {
+        pathStamp[vertex] = 0;
+    }
+    
+    boolean onPath(int vertex) {
+        return pathStamp[vertex] == epoch;
+    }
+    
+    /**
+     * @return true if the vertex was visited by the last traversal
+     */
+    public boolean isVisited(int vertex) {
+        return epoch != 0 && vertex < visitedStamp.length && visitedStamp[vertex] == epoch;
+    }
+    
+    /**
+     * @return the number of vertices visited by the last dfs or bfs
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * @return the i-th vertex in the visiting order of the last dfs or bfs
+     */
+    public int vertexAt(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + ", size " + size);
+        }
+        return order[i];
+    }
+    
+    /**
+     * @return a copy of the visiting order of the last dfs or bfs
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(order, size);
+    }
+}
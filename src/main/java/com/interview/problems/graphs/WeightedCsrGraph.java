@@ -0,0 +1,167 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Immutable weighted graph in CSR form
+ * 
+ * Same layout as CsrGraph plus a double[] weights array parallel to targets: the edge at
+ * index e goes to targets[e] with cost weights[e]. Weights must be non-negative, as
+ * Dijkstra and A* require.
+ * 
+ * Time Complexity: O(V + E) to build, O(1) to access a vertex's edges
+ * Space Complexity: 4 * (V + 1) + 12 * E bytes
+ */
+public class WeightedCsrGraph {
+    
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    
+    WeightedCsrGraph(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+    
+    /**
+     * Incrementally collects weighted directed edges, then builds the CSR arrays with a counting sort
+     */
+    public static class Builder {
+        private int vertexCount;
+        private int[] sources = new int[16];
+        private int[] destinations = new int[16];
+        private double[] costs = new double[16];
+        private int edgeCount;
+        
+        public Builder() {
+            this(0);
+        }
+        
+        /**
+         * @param vertexCount the minimum number of vertices (more are added as edges reference them)
+         */
+        public Builder(int vertexCount) {
+            this.vertexCount = vertexCount;
+        }
+        
+        public Builder addEdge(int from, int to, double weight) {
+            if (from < 0 || to < 0) {
+                throw new IllegalArgumentException("Negative vertex: " + from + " -> " + to);
+            }
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight must be finite and non-negative: " + weight);
+            }
+            
+            if (edgeCount == sources.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, sources.length * 2L);
+                if (capacity == edgeCount) {
+                    throw new IllegalStateException("Too many edges");
+                }
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+            }
+            
+            sources[edgeCount] = from;
+            destinations[edgeCount] = to;
+            costs[edgeCount] = weight;
+            edgeCount++;
+            vertexCount = Math.max(vertexCount, Math.max(from, to) + 1);
+            return this;
+        }
+        
+        public Builder addUndirectedEdge(int u, int v, double weight) {
+            return addEdge(u, v, weight).addEdge(v, u, weight);
+        }
+        
+        public WeightedCsrGraph build() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[edgeCount];
+            double[] weights = new double[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                int slot = next[sources[i]]++;
+                targets[slot] = destinations[i];
+                weights[slot] = costs[i];
+            }
+            
+            return new WeightedCsrGraph(offsets, targets, weights);
+        }
+    }
+    
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+    
+    public int edgeCount() {
+        return targets.length;
+    }
+    
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+    
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+    
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+    
+    public int target(int edge) {
+        return targets[edge];
+    }
+    
+    public double weight(int edge) {
+        return weights[edge];
+    }
+    
+    /**
+     * Builds the transposed graph (every edge reversed, weights kept), e.g. for the
+     * backward search of bidirectional Dijkstra on a directed graph
+     */
+    public WeightedCsrGraph transpose() {
+        int n = vertexCount();
+        int[] reverseOffsets = new int[n + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        int[] reverseTargets = new int[targets.length];
+        double[] reverseWeights = new double[targets.length];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int slot = next[targets[e]]++;
+                reverseTargets[slot] = v;
+                reverseWeights[slot] = weights[e];
+            }
+        }
+        
+        return new WeightedCsrGraph(reverseOffsets, reverseTargets, reverseWeights);
+    }
+    
+    /**
+     * @return the unweighted graph sharing this graph's offsets and targets (no copy)
+     */
+    public CsrGraph unweighted() {
+        return new CsrGraph(offsets, targets);
+    }
+    
+    @Override
+    public String toString() {
+        return "WeightedCsrGraph{vertices=" + vertexCount() + ", edges=" + edgeCount() + "}";
+    }
+}
@@ -0,0 +1,550 @@
+package com.interview.problems.regex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Bulk, parallel email validation and extraction
+ * 
+ * Calling EmailValidator.isValidEmail one String at a time costs a String (and a line read)
+ * per address. These APIs work on whole files or line streams instead:
+ * - files are split into chunks at line boundaries, each chunk is memory-mapped and
+ *   processed on the common ForkJoinPool, reading bytes in place without creating Strings
+ * - validation returns a BitSet of the valid (0-based) line numbers
+ * - extraction returns the [start, end) offsets of the emails found, packed in a long[]
+ * 
+ * Validation uses the same DFAs as EmailValidator. Extraction finds the matches of the
+ * unanchored basic pattern [A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}, with the same
+ * leftmost-greedy results java.util.regex would give, using a single forward scan.
+ * 
+ * Time Complexity: O(n / p) wall time for n bytes on p cores
+ * Space Complexity: O(lines / 8) for the bitset, O(matches) for the offsets
+ */
+public class BulkEmailValidator {
+    
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final int MAX_CHUNK = 1 << 28;
+    private static final int BATCH_SIZE = 1 << 16; // Multiple of 64 so batches map onto whole bitset words
+    private static final int WORDS_PER_BATCH = BATCH_SIZE / 64;
+    
+    // Line-stream batches submitted but not yet joined; bounds the lines held in memory
+    private static final int MAX_PENDING_BATCHES = Math.max(2, 2 * ForkJoinPool.getCommonPoolParallelism());
+    
+    private static final boolean[] LOCAL_CHARS = charTable("A-Za-z0-9._%+-");
+    private static final boolean[] DOMAIN_CHARS = charTable("A-Za-z0-9.-");
+    private static final boolean[] LETTERS = charTable("A-Za-z");
+    
+    /**
+     * Read-only ASCII view of a byte buffer region, so DFA and scanner run over mapped bytes
+     */
+    private static class AsciiView implements CharSequence {
+        private final ByteBuffer buffer;
+        
+        AsciiView(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int length() {
+            return buffer.limit();
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(index) & 0xFF);
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+    
+    // Result of one file chunk
+    private static class ChunkResult {
+        final BitSet valid;
+        final int lines;
+        final long[] offsets;
+        
+        ChunkResult(BitSet valid, int lines, long[] offsets) {
+            this.valid = valid;
+            this.lines = lines;
+            this.offsets = offsets;
+        }
+    }
+    
+    // ==================== Validation ====================
+    
+    /**
+     * Validates every line of a file with the basic pattern
+     * 
+     * @param file the file, one address per line
+     * @return the 0-based numbers of the valid lines
+     */
+    public static BitSet validateLines(Path file) throws IOException {
+        return validateLines(file, false);
+    }
+    
+    /**
+     * Validates every line of a file
+     * 
+     * @param file the file, one address per line
+     * @param withLengthCheck whether to use the length-restricted pattern
+     * @return the 0-based numbers of the valid lines
+     */
+    public static BitSet validateLines(Path file, boolean withLengthCheck) throws IOException {
+        DfaMatcher dfa = withLengthCheck ? EmailValidator.lengthDfa : EmailValidator.basicDfa;
+        List<ChunkResult> results = processChunks(file, view -> validateChunk(view, dfa));
+        
+        BitSet valid = new BitSet();
+        int base = 0;
+        for (ChunkResult result : results) {
+            BitSet local = result.valid;
+            for (int line = local.nextSetBit(0); line >= 0; line = local.nextSetBit(line + 1)) {
+                valid.set(base + line);
+            }
+            base += result.lines;
+        }
+        
+        return valid;
+    }
+    
+    private static ChunkResult validateChunk(CharSequence chunk, DfaMatcher dfa) {
+        BitSet valid = new BitSet();
+        int length = chunk.length();
+        int line = 0;
+        int lineStart = 0;
+        
+        for (int i = 0; i <= length; i++) {
+            if (i == length || chunk.charAt(i) == '\n') {
+                if (i == length && i == lineStart) {
+                    break; // No unterminated last line
+                }
+                
+                int end = i;
+                if (end > lineStart && chunk.charAt(end - 1) == '\r') {
+                    end--;
+                }
+                if (dfa.matches(chunk, lineStart, end)) {
+                    valid.set(line);
+                }
+                
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        
+        return new ChunkResult(valid, line, null);
+    }
+    
+    /**
+     * Validates a stream of lines in parallel batches
+     * 
+     * At most MAX_PENDING_BATCHES batches are in flight: once that many are pending, the oldest
+     * is joined and copied into the result before the next one is read, so only a bounded number
+     * of lines is held no matter how long the stream is.
+     * 
+     * @param lines the lines, e.g. from Files.lines or BufferedReader.lines
+     * @param withLengthCheck whether to use the length-restricted pattern
+     * @return the 0-based positions of the valid lines in the stream
+     */
+    public static BitSet validateLines(Stream<? extends CharSequence> lines, boolean withLengthCheck) {
+        DfaMatcher dfa = withLengthCheck ? EmailValidator.lengthDfa : EmailValidator.basicDfa;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        ArrayDeque<Future<long[]>> pending = new ArrayDeque<>();
+        
+        // Each batch covers whole words, so the results are simply concatenated in order
+        long[] words = new long[0];
+        int wordCount = 0;
+        
+        Iterator<? extends CharSequence> it = lines.iterator();
+        while (it.hasNext()) {
+            CharSequence[] batch = new CharSequence[BATCH_SIZE];
+            int size = 0;
+            while (size < BATCH_SIZE && it.hasNext()) {
+                batch[size++] = it.next();
+            }
+            
+            if (pending.size() == MAX_PENDING_BATCHES) {
+                words = append(words, wordCount, join(pending.poll()));
+                wordCount += WORDS_PER_BATCH;
+            }
+            
+            int count = size;
+            pending.add(pool.submit(() -> {
+                long[] batchWords = new long[WORDS_PER_BATCH];
+                for (int i = 0; i < count; i++) {
+                    if (dfa.matches(batch[i])) {
+                        batchWords[i >>> 6] |= 1L << i;
+                    }
+                }
+                return batchWords;
+            }));
+        }
+        
+        while (!pending.isEmpty()) {
+            words = append(words, wordCount, join(pending.poll()));
+            wordCount += WORDS_PER_BATCH;
+        }
+        
+        return BitSet.valueOf(LongBuffer.wrap(words, 0, wordCount));
+    }
+    
+    /**
+     * Copies part to target[size..], growing target if needed
+     * 
+     * @return target, or its grown copy
+     */
+    private static long[] append(long[] target, int size, long[] part) {
+        if (size + part.length > target.length) {
+            target = Arrays.copyOf(target, Math.max(size + part.length, target.length * 2));
+        }
+        System.arraycopy(part, 0, target, size, part.length);
+        return target;
+    }
+    
+    // ==================== Extraction ====================
+    
+    /**
+     * Finds all emails in a file
+     * 
+     * @param file the file to search
+     * @return pairs of absolute byte offsets: [start0, end0, start1, end1, ...]
+     */
+    public static long[] findEmailOffsets(Path file) throws IOException {
+        List<ChunkResult> results = processChunks(file, view -> new ChunkResult(null, 0, findEmails(view)));
+        
+        int total = 0;
+        for (ChunkResult result : results) {
+            total += result.offsets.length;
+        }
+        
+        long[] offsets = new long[total];
+        int pos = 0;
+        for (ChunkResult result : results) {
+            System.arraycopy(result.offsets, 0, offsets, pos, result.offsets.length);
+            pos += result.offsets.length;
+        }
+        
+        return offsets;
+    }
+    
+    /**
+     * Finds all emails in a text
+     * 
+     * @param text the text to search
+     * @return pairs of offsets: [start0, end0, start1, end1, ...]
+     */
+    public static long[] findEmailOffsets(CharSequence text) {
+        return text == null ? new long[0] : findEmails(text);
+    }
+    
+    /**
+     * Finds all emails in a stream of lines, in parallel batches
+     * 
+     * Like validateLines(Stream, boolean), keeps at most MAX_PENDING_BATCHES batches in flight
+     * and copies each finished batch into the result right away.
+     * 
+     * @param lines the lines to search
+     * @return triples of [line number, start, end] offsets within the line
+     */
+    public static long[] findEmailOffsets(Stream<? extends CharSequence> lines) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        ArrayDeque<Future<long[]>> pending = new ArrayDeque<>();
+        long[] result = new long[0];
+        int total = 0;
+        
+        Iterator<? extends CharSequence> it = lines.iterator();
+        long base = 0;
+        while (it.hasNext()) {
+            CharSequence[] batch = new CharSequence[BATCH_SIZE];
+            int size = 0;
+            while (size < BATCH_SIZE && it.hasNext()) {
+                batch[size++] = it.next();
+            }
+            
+            if (pending.size() == MAX_PENDING_BATCHES) {
+                long[] part = join(pending.poll());
+                result = append(result, total, part);
+                total += part.length;
+            }
+            
+            int count = size;
+            long firstLine = base;
+            pending.add(pool.submit(() -> {
+                long[] triples = new long[0];
+                int n = 0;
+                for (int i = 0; i < count; i++) {
+                    long[] pairs = findEmails(batch[i]);
+                    if (n + pairs.length / 2 * 3 > triples.length) {
+                        triples = Arrays.copyOf(triples, Math.max(16, (n + pairs.length / 2 * 3) * 2));
+                    }
+                    for (int p = 0; p < pairs.length; p += 2) {
+                        triples[n++] = firstLine + i;
+                        triples[n++] = pairs[p];
+                        triples[n++] = pairs[p + 1];
+                    }
+                }
+                return Arrays.copyOf(triples, n);
+            }));
+            base += count;
+        }
+        
+        while (!pending.isEmpty()) {
+            long[] part = join(pending.poll());
+            result = append(result, total, part);
+            total += part.length;
+        }
+        
+        return Arrays.copyOf(result, total);
+    }
+    
+    /**
+     * Leftmost-greedy matches of [A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,} in one forward scan
+     * 
+     * For each '@' the match starts at the beginning of the local-part run before it, and the
+     * domain ends after the letters following the rightmost dot that has at least two letters
+     * after it, which is where the greedy regex would settle after backtracking.
+     */
+    private static long[] findEmails(CharSequence text) {
+        long[] offsets = new long[0];
+        int count = 0;
+        int length = text.length();
+        int previousEnd = 0;
+        
+        for (int at = 0; at < length; at++) {
+            if (text.charAt(at) != '@') {
+                continue;
+            }
+            
+            int start = at;
+            while (start > previousEnd && is(LOCAL_CHARS, text.charAt(start - 1))) {
+                start--;
+            }
+            if (start == at) {
+                continue;
+            }
+            
+            int domainEnd = at + 1;
+            while (domainEnd < length && is(DOMAIN_CHARS, text.charAt(domainEnd))) {
+                domainEnd++;
+            }
+            
+            int end = -1;
+            for (int dot = domainEnd - 3; dot >= at + 2; dot--) {
+                if (text.charAt(dot) == '.' && is(LETTERS, text.charAt(dot + 1)) && is(LETTERS, text.charAt(dot + 2))) {
+                    end = dot + 3;
+                    while (end < domainEnd && is(LETTERS, text.charAt(end))) {
+                        end++;
+                    }
+                    break;
+                }
+            }
+            if (end < 0) {
+                continue;
+            }
+            
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(16, offsets.length * 2));
+            }
+            offsets[count++] = start;
+            offsets[count++] = end;
+            
+            previousEnd = end;
+            at = end - 1;
+        }
+        
+        return Arrays.copyOf(offsets, count);
+    }
+    
+    // ==================== Chunking ====================
+    
+    private interface ChunkProcessor {
+        ChunkResult process(CharSequence chunk);
+    }
+    
+    /**
+     * Splits a file into line-aligned chunks, maps and processes them in parallel
+     * and returns the results in file order (offsets already made absolute)
+     */
+    private static List<ChunkResult> processChunks(Path file, ChunkProcessor processor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBoundaries(channel);
+            
+            try {
+                return IntStream.range(0, bounds.length - 1).parallel().mapToObj(i -> {
+                    long start = bounds[i];
+                    long size = bounds[i + 1] - start;
+                    if (size > Integer.MAX_VALUE) {
+                        throw new UncheckedIOException(new IOException("Line longer than 2 GB at offset " + start));
+                    }
+                    try {
+                        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                        ChunkResult result = processor.process(new AsciiView(buffer));
+                        if (result.offsets != null) {
+                            for (int k = 0; k < result.offsets.length; k++) {
+                                result.offsets[k] += start;
+                            }
+                        }
+                        return result;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+    
+    private static long[] chunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = size / (ForkJoinPool.getCommonPoolParallelism() * 4L);
+        target = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, target));
+        
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = target;
+        
+        while (pos < size) {
+            long newline = findNewline(channel, pos, probe);
+            if (newline < 0 || newline + 1 >= size) {
+                break;
+            }
+            bounds.add(newline + 1);
+            pos = newline + 1 + target;
+        }
+        bounds.add(size);
+        
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    private static long findNewline(FileChannel channel, long from, ByteBuffer probe) throws IOException {
+        long pos = from;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i;
+                }
+            }
+            pos += read;
+        }
+    }
+    
+    // ==================== Helpers ====================
+    
+    private static boolean[] charTable(String spec) {
+        boolean[] table = new boolean[128];
+        for (int i = 0; i < spec.length(); i++) {
+            if (i + 2 < spec.length() && spec.charAt(i + 1) == '-') {
+                for (char c = spec.charAt(i); c <= spec.charAt(i + 2); c++) {
+                    table[c] = true;
+                }
+                i += 2;
+            } else {
+                table[spec.charAt(i)] = true;
+            }
+        }
+        return table;
+    }
+    
+    private static boolean is(boolean[] table, char c) {
+        return c < 128 && table[c];
+    }
+    
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("emails", ".txt");
+        file.toFile().deleteOnExit();
+        
+        int lines = 2_000_000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            switch (i % 4) {
+                case 0: sb.append("user").append(i).append("@example.com\n"); break;
+                case 1: sb.append("first.last+").append(i).append("@mail.example.co.uk\n"); break;
+                case 2: sb.append("invalid").append(i).append("@nodot\n"); break;
+                default: sb.append("no-at-sign-").append(i).append(".com\n"); break;
+            }
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.US_ASCII));
+        
+        System.out.println("=== BULK VALIDATION (" + lines + " lines) ===");
+        
+        long start = System.nanoTime();
+        int sequential = 0;
+        for (String line : Files.readAllLines(file)) {
+            if (EmailValidator.isValidEmail(line)) {
+                sequential++;
+            }
+        }
+        System.out.println("One String at a time: " + sequential + " valid in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            BitSet valid = validateLines(file);
+            System.out.println("Parallel mapped chunks: " + valid.cardinality() + " valid in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        
+        try (Stream<String> stream = Files.lines(file)) {
+            start = System.nanoTime();
+            BitSet valid = validateLines(stream, true);
+            System.out.println("Line stream, length check: " + valid.cardinality() + " valid in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        
+        System.out.println("\n=== EXTRACTION ===");
+        String text = "Contact us at support@example.com or sales@example.org. "
+                + "For technical issues, email tech.support@sub.example.co.uk. "
+                + "Invalid emails: user@domain, @domain.com";
+        long[] found = findEmailOffsets(text);
+        for (int i = 0; i < found.length; i += 2) {
+            System.out.println("  " + text.substring((int) found[i], (int) found[i + 1]));
+        }
+        
+        start = System.nanoTime();
+        long[] offsets = findEmailOffsets(file);
+        System.out.println("Emails in file: " + offsets.length / 2 + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
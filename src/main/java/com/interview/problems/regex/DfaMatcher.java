@@ -0,0 +1,678 @@
+package com.interview.problems.regex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linear-time DFA matcher for a restricted regex subset
+ * 
+ * java.util.regex is a backtracking engine, so even pure character-class patterns such as
+ * "[A-Za-z0-9.-]+\\.[A-Za-z]{2,}" can take super-linear time on adversarial input.
+ * DfaMatcher compiles the subset those patterns use into a deterministic automaton and
+ * matches with a single table-driven loop: one table lookup per character, no backtracking,
+ * no allocation.
+ * 
+ * Supported syntax (ASCII only; input containing other characters never matches, even for
+ * negated classes):
+ * - literals and escaped metacharacters (\\. \\- ...)
+ * - character classes [a-z0-9._%+-], negated classes [^...], the dot, \\d \\w \\s and their negations
+ * - quantifiers ? * + {n} {n,} {n,m}
+ * - grouping (...) / (?:...) and alternation |
+ * - ^ at the start and $ at the end, which are implied anyway since matches() is a full match
+ * Backreferences, lookaround, lazy/possessive quantifiers and flags are rejected.
+ * 
+ * Compilation: regex -> syntax tree -> Thompson NFA -> subset construction, with characters
+ * grouped into equivalence classes to keep the transition table small.
+ * 
+ * Time Complexity: O(n) per match, guaranteed; compilation is exponential in the worst case
+ *                  but small for character-class patterns
+ * Space Complexity: O(states * character classes) for the table
+ */
+public class DfaMatcher {
+    
+    private static final int ALPHABET = 128;
+    private static final int DEAD = 0;
+    
+    private final String regex;
+    private final byte[] charClass;     // char -> equivalence class
+    private final int classCount;
+    private final int[] table;          // state * classCount + class -> state
+    private final boolean[] accepting;
+    private final int start;
+    
+    private DfaMatcher(String regex, byte[] charClass, int classCount, int[] table, boolean[] accepting, int start) {
+        this.regex = regex;
+        this.charClass = charClass;
+        this.classCount = classCount;
+        this.table = table;
+        this.accepting = accepting;
+        this.start = start;
+    }
+    
+    /**
+     * Compiles a regex of the supported subset
+     * 
+     * @param regex the regex
+     * @return the DFA matcher
+     * @throws IllegalArgumentException if the regex uses unsupported syntax
+     */
+    public static DfaMatcher compile(String regex) {
+        Node tree = new Parser(regex).parse();
+        
+        Nfa nfa = new Nfa();
+        int[] fragment = nfa.build(tree);
+        int nfaAccept = fragment[1];
+        
+        // Equivalence classes: characters that no set in the regex tells apart
+        byte[] charClass = new byte[ALPHABET];
+        Map<BitSet, Integer> signatures = new HashMap<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            BitSet signature = new BitSet();
+            for (int s = 0; s < nfa.sets.size(); s++) {
+                if (nfa.sets.get(s).get(c)) {
+                    signature.set(s);
+                }
+            }
+            Integer cls = signatures.get(signature);
+            if (cls == null) {
+                cls = signatures.size();
+                signatures.put(signature, cls);
+            }
+            charClass[c] = (byte) (int) cls;
+        }
+        int classCount = signatures.size();
+        if (classCount > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct character classes: " + regex);
+        }
+        
+        int[] representative = new int[classCount];
+        for (int c = ALPHABET - 1; c >= 0; c--) {
+            representative[charClass[c]] = c;
+        }
+        
+        // Subset construction; DFA state 0 is the dead state
+        List<BitSet> dfaStates = new ArrayList<>();
+        Map<BitSet, Integer> index = new HashMap<>();
+        dfaStates.add(new BitSet());
+        index.put(new BitSet(), DEAD);
+        
+        BitSet initial = nfa.closure(singleton(fragment[0]));
+        int startState = addState(initial, dfaStates, index);
+        
+        int[] table = new int[16 * classCount];
+        ArrayDeque<Integer> work = new ArrayDeque<>();
+        work.add(startState);
+        
+        while (!work.isEmpty()) {
+            int state = work.poll();
+            BitSet current = dfaStates.get(state);
+            
+            for (int cls = 0; cls < classCount; cls++) {
+                BitSet next = nfa.closure(nfa.step(current, representative[cls]));
+                Integer target = index.get(next);
+                if (target == null) {
+                    target = addState(next, dfaStates, index);
+                    work.add(target);
+                }
+                int slot = state * classCount + cls;
+                if (slot >= table.length) {
+                    table = Arrays.copyOf(table, Math.max(slot + 1, table.length * 2));
+                }
+                table[slot] = target;
+            }
+        }
+        
+        int states = dfaStates.size();
+        table = Arrays.copyOf(table, states * classCount);
+        boolean[] accepting = new boolean[states];
+        for (int s = 0; s < states; s++) {
+            accepting[s] = dfaStates.get(s).get(nfaAccept);
+        }
+        
+        return new DfaMatcher(regex, charClass, classCount, table, accepting, startState);
+    }
+    
+    private static int addState(BitSet set, List<BitSet> states, Map<BitSet, Integer> index) {
+        int id = states.size();
+        states.add(set);
+        index.put(set, id);
+        return id;
+    }
+    
+    private static BitSet singleton(int bit) {
+        BitSet set = new BitSet();
+        set.set(bit);
+        return set;
+    }
+    
+    /**
+     * Checks if the whole input matches
+     * 
+     * @param input the input
+     * @return true if the input matches, false otherwise
+     */
+    public boolean matches(CharSequence input) {
+        return input != null && matches(input, 0, input.length());
+    }
+    
+    /**
+     * Checks if input[from, to) matches
+     */
+    public boolean matches(CharSequence input, int from, int to) {
+        int state = start;
+        
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c >= ALPHABET) {
+                return false;
+            }
+            state = table[state * classCount + charClass[c]];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        
+        return accepting[state];
+    }
+    
+    /**
+     * Checks if bytes[from, to) match, treating each byte as an ASCII character
+     */
+    public boolean matches(byte[] bytes, int from, int to) {
+        int state = start;
+        
+        for (int i = from; i < to; i++) {
+            int c = bytes[i];
+            if (c < 0) {
+                return false;
+            }
+            state = table[state * classCount + charClass[c]];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        
+        return accepting[state];
+    }
+    
+    public int stateCount() {
+        return accepting.length;
+    }
+    
+    public String pattern() {
+        return regex;
+    }
+    
+    // ==================== Syntax tree ====================
+    
+    private abstract static class Node {
+    }
+    
+    private static class CharSet extends Node {
+        final BitSet chars;
+        
+        CharSet(BitSet chars) {
+            this.chars = chars;
+        }
+    }
+    
+    private static class Concat extends Node {
+        final List<Node> parts;
+        
+        Concat(List<Node> parts) {
+            this.parts = parts;
+        }
+    }
+    
+    private static class Alternation extends Node {
+        final List<Node> options;
+        
+        Alternation(List<Node> options) {
+            this.options = options;
+        }
+    }
+    
+    private static class Repeat extends Node {
+        final Node node;
+        final int min;
+        final int max; // -1 for unbounded
+        
+        Repeat(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+    
+    // ==================== Parser ====================
+    
+    private static class Parser {
+        private final String regex;
+        private int pos;
+        
+        Parser(String regex) {
+            this.regex = regex;
+        }
+        
+        Node parse() {
+            if (peek() == '^') {
+                pos++;
+            }
+            
+            Node node = alternation();
+            
+            if (peek() == '$') {
+                pos++;
+            }
+            if (pos != regex.length()) {
+                throw unsupported();
+            }
+            return node;
+        }
+        
+        private Node alternation() {
+            List<Node> options = new ArrayList<>();
+            options.add(concat());
+            while (peek() == '|') {
+                pos++;
+                options.add(concat());
+            }
+            return options.size() == 1 ? options.get(0) : new Alternation(options);
+        }
+        
+        private Node concat() {
+            List<Node> parts = new ArrayList<>();
+            while (pos < regex.length() && peek() != '|' && peek() != ')' && !(peek() == '$' && pos == regex.length() - 1)) {
+                parts.add(repeat());
+            }
+            return new Concat(parts);
+        }
+        
+        private Node repeat() {
+            Node atom = atom();
+            
+            while (pos < regex.length()) {
+                char c = peek();
+                int min;
+                int max;
+                
+                if (c == '?') {
+                    min = 0;
+                    max = 1;
+                    pos++;
+                } else if (c == '*') {
+                    min = 0;
+                    max = -1;
+                    pos++;
+                } else if (c == '+') {
+                    min = 1;
+                    max = -1;
+                    pos++;
+                } else if (c == '{') {
+                    int close = regex.indexOf('}', pos);
+                    if (close < 0) {
+                        throw unsupported();
+                    }
+                    String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+                    try {
+                        min = Integer.parseInt(bounds[0].trim());
+                        max = bounds.length == 1 ? min
+                                : bounds[1].trim().isEmpty() ? -1 : Integer.parseInt(bounds[1].trim());
+                    } catch (NumberFormatException e) {
+                        throw unsupported();
+                    }
+                    if (bounds.length > 2 || (max != -1 && max < min)) {
+                        throw unsupported();
+                    }
+                    pos = close + 1;
+                } else {
+                    break;
+                }
+                
+                if (pos < regex.length() && (peek() == '?' || peek() == '+')) {
+                    throw unsupported(); // Lazy and possessive quantifiers
+                }
+                atom = new Repeat(atom, min, max);
+            }
+            
+            return atom;
+        }
+        
+        private Node atom() {
+            char c = regex.charAt(pos++);
+            
+            switch (c) {
+                case '(':
+                    if (regex.startsWith("?:", pos)) {
+                        pos += 2;
+                    } else if (peek() == '?') {
+                        throw unsupported(); // Lookaround, named groups, flags
+                    }
+                    Node inner = alternation();
+                    if (peek() != ')') {
+                        throw unsupported();
+                    }
+                    pos++;
+                    return inner;
+                case '[':
+                    return new CharSet(charClass());
+                case '.': {
+                    BitSet any = range(0, ALPHABET - 1);
+                    any.clear('\n');
+                    any.clear('\r');
+                    return new CharSet(any);
+                }
+                case '\\':
+                    return new CharSet(escape());
+                case '^':
+                case '$':
+                case ')':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported();
+                default:
+                    return new CharSet(literal(c));
+            }
+        }
+        
+        private BitSet charClass() {
+            boolean negated = false;
+            if (peek() == '^') {
+                negated = true;
+                pos++;
+            }
+            
+            BitSet set = new BitSet();
+            boolean first = true;
+            
+            while (pos < regex.length() && (peek() != ']' || first)) {
+                first = false;
+                char c = regex.charAt(pos++);
+                BitSet member;
+                
+                if (c == '\\') {
+                    member = escape();
+                } else if (c == '[' || (c == '&' && peek() == '&')) {
+                    throw unsupported(); // Nested classes and intersections
+                } else {
+                    member = literal(c);
+                }
+                
+                // Range a-z (a trailing '-' is a literal)
+                if (member.cardinality() == 1 && peek() == '-' && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    char to = regex.charAt(pos++);
+                    if (to == '\\') {
+                        BitSet end = escape();
+                        if (end.cardinality() != 1) {
+                            throw unsupported();
+                        }
+                        to = (char) end.nextSetBit(0);
+                    }
+                    int from = member.nextSetBit(0);
+                    if (to < from || to >= ALPHABET) {
+                        throw unsupported();
+                    }
+                    member = range(from, to);
+                }
+                
+                set.or(member);
+            }
+            
+            if (peek() != ']') {
+                throw unsupported();
+            }
+            pos++;
+            
+            if (negated) {
+                set.flip(0, ALPHABET);
+            }
+            return set;
+        }
+        
+        private BitSet escape() {
+            if (pos >= regex.length()) {
+                throw unsupported();
+            }
+            char e = regex.charAt(pos++);
+            
+            switch (e) {
+                case 'd':
+                    return range('0', '9');
+                case 'D':
+                    return complement(range('0', '9'));
+                case 'w':
+                    return word();
+                case 'W':
+                    return complement(word());
+                case 's':
+                    return space();
+                case 'S':
+                    return complement(space());
+                case 't':
+                    return literal('\t');
+                case 'n':
+                    return literal('\n');
+                case 'r':
+                    return literal('\r');
+                case 'f':
+                    return literal('\f');
+                default:
+                    if (Character.isLetterOrDigit(e)) {
+                        throw unsupported(); // Backreferences, anchors, Unicode classes
+                    }
+                    return literal(e);
+            }
+        }
+        
+        private BitSet literal(char c) {
+            if (c >= ALPHABET) {
+                throw unsupported();
+            }
+            BitSet set = new BitSet();
+            set.set(c);
+            return set;
+        }
+        
+        private static BitSet range(int from, int to) {
+            BitSet set = new BitSet();
+            set.set(from, to + 1);
+            return set;
+        }
+        
+        private static BitSet complement(BitSet set) {
+            BitSet result = (BitSet) set.clone();
+            result.flip(0, ALPHABET);
+            return result;
+        }
+        
+        private static BitSet word() {
+            BitSet set = range('a', 'z');
+            set.or(range('A', 'Z'));
+            set.or(range('0', '9'));
+            set.set('_');
+            return set;
+        }
+        
+        private static BitSet space() {
+            BitSet set = new BitSet();
+            for (char c : new char[] {' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+                set.set(c);
+            }
+            return set;
+        }
+        
+        private char peek() {
+            return pos < regex.length() ? regex.charAt(pos) : '\0';
+        }
+        
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("Unsupported regex construct at index " + pos + ": " + regex);
+        }
+    }
+    
+    // ==================== Thompson NFA ====================
+    
+    private static class Nfa {
+        // Per state: a char-set transition (set id, target) and epsilon targets
+        final List<Integer> setOf = new ArrayList<>();
+        final List<Integer> target = new ArrayList<>();
+        final List<List<Integer>> epsilons = new ArrayList<>();
+        final List<BitSet> sets = new ArrayList<>();
+        private final Map<BitSet, Integer> setIds = new HashMap<>();
+        
+        int newState() {
+            setOf.add(-1);
+            target.add(-1);
+            epsilons.add(new ArrayList<>());
+            return setOf.size() - 1;
+        }
+        
+        void epsilon(int from, int to) {
+            epsilons.get(from).add(to);
+        }
+        
+        // Returns {start, accept}
+        int[] build(Node node) {
+            if (node instanceof CharSet) {
+                int s = newState();
+                int a = newState();
+                BitSet chars = ((CharSet) node).chars;
+                Integer id = setIds.get(chars);
+                if (id == null) {
+                    id = sets.size();
+                    sets.add(chars);
+                    setIds.put(chars, id);
+                }
+                setOf.set(s, id);
+                target.set(s, a);
+                return new int[] {s, a};
+            }
+            
+            if (node instanceof Concat) {
+                int s = newState();
+                int current = s;
+                for (Node part : ((Concat) node).parts) {
+                    int[] f = build(part);
+                    epsilon(current, f[0]);
+                    current = f[1];
+                }
+                return new int[] {s, current};
+            }
+            
+            if (node instanceof Alternation) {
+                int s = newState();
+                int a = newState();
+                for (Node option : ((Alternation) node).options) {
+                    int[] f = build(option);
+                    epsilon(s, f[0]);
+                    epsilon(f[1], a);
+                }
+                return new int[] {s, a};
+            }
+            
+            Repeat repeat = (Repeat) node;
+            int s = newState();
+            int current = s;
+            
+            // Required copies
+            for (int i = 0; i < repeat.min; i++) {
+                int[] f = build(repeat.node);
+                epsilon(current, f[0]);
+                current = f[1];
+            }
+            
+            if (repeat.max == -1) {
+                // Kleene star on one more copy
+                int[] f = build(repeat.node);
+                int a = newState();
+                epsilon(current, f[0]);
+                epsilon(current, a);
+                epsilon(f[1], f[0]);
+                epsilon(f[1], a);
+                return new int[] {s, a};
+            }
+            
+            // Optional copies, each of which may end the repetition
+            int a = newState();
+            for (int i = repeat.min; i < repeat.max; i++) {
+                epsilon(current, a);
+                int[] f = build(repeat.node);
+                epsilon(current, f[0]);
+                current = f[1];
+            }
+            epsilon(current, a);
+            return new int[] {s, a};
+        }
+        
+        BitSet closure(BitSet states) {
+            BitSet result = (BitSet) states.clone();
+            ArrayDeque<Integer> stack = new ArrayDeque<>();
+            for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+                stack.push(s);
+            }
+            
+            while (!stack.isEmpty()) {
+                for (int next : epsilons.get(stack.pop())) {
+                    if (!result.get(next)) {
+                        result.set(next);
+                        stack.push(next);
+                    }
+                }
+            }
+            
+            return result;
+        }
+        
+        BitSet step(BitSet states, int c) {
+            BitSet result = new BitSet();
+            for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+                int set = setOf.get(s);
+                if (set >= 0 && sets.get(set).get(c)) {
+                    result.set(target.get(s));
+                }
+            }
+            return result;
+        }
+    }
+    
+    public static void main(String[] args) {
+        String regex = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+        DfaMatcher dfa = compile(regex);
+        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(regex);
+        
+        System.out.println("=== DFA FOR " + regex + " ===");
+        System.out.println("States: " + dfa.stateCount() + ", character classes: " + dfa.classCount);
+        
+        for (String email : new String[] {"john.doe@example.com", "invalid@email", "user@domain.", "a@b.co"}) {
+            System.out.println("   " + email + ": " + dfa.matches(email));
+        }
+        
+        // Adversarial input: many dots after '@' and no valid TLD at the end
+        StringBuilder sb = new StringBuilder("a@");
+        for (int i = 0; i < 5_000; i++) {
+            sb.append("a.");
+        }
+        sb.append('!');
+        String adversarial = sb.toString();
+        
+        long startNanos = System.nanoTime();
+        boolean dfaResult = dfa.matches(adversarial);
+        long dfaNanos = System.nanoTime() - startNanos;
+        
+        startNanos = System.nanoTime();
+        boolean regexResult = pattern.matcher(adversarial).matches();
+        long regexNanos = System.nanoTime() - startNanos;
+        
+        System.out.println("\n=== ADVERSARIAL INPUT (" + adversarial.length() + " chars) ===");
+        System.out.println("DFA: " + dfaResult + " in " + dfaNanos / 1_000 + " us");
+        System.out.println("java.util.regex: " + regexResult + " in " + regexNanos / 1_000 + " us");
+    }
+}
@@ -17,7 +17,8 @@ import java.util.regex.Pattern;
  * 2. Domain name can contain letters, numbers, dots, and hyphens
  * 3. Top-level domain should be at least 2 characters
  * 
- * Time Complexity: O(n) where n is the length of the email string
+ * Time Complexity: O(n) where n is the length of the email string, guaranteed for the
+ *                  DFA-backed checks (isValidEmail, isValidEmailWithLengthCheck, findEmailsInText)
  * Space Complexity: O(1) for the validation, O(n) for extracted components
  */
 public class EmailValidator {
@@ -39,10 +40,13 @@ public class EmailValidator {
             "^[A-Za-z0-9._%+-]{1,64}@[A-Za-z0-9.-]{1,255}\\.[A-Za-z]{2,}$";
     
     // Compiled patterns for better performance
-    private static final Pattern basicPattern = Pattern.compile(EMAIL_PATTERN);
     private static final Pattern componentsPattern = Pattern.compile(EMAIL_COMPONENTS_PATTERN);
     private static final Pattern rfcPattern = Pattern.compile(EMAIL_RFC5322_PATTERN);
-    private static final Pattern lengthPattern = Pattern.compile(EMAIL_WITH_LENGTH_PATTERN);
+    
+    // Table-driven DFAs for the pure character-class patterns: guaranteed linear time, no backtracking
+    // (package-private so BulkEmailValidator can share them)
+    static final DfaMatcher basicDfa = DfaMatcher.compile(EMAIL_PATTERN);
+    static final DfaMatcher lengthDfa = DfaMatcher.compile(EMAIL_WITH_LENGTH_PATTERN);
     
     /**
      * Validates an email address using the basic pattern
@@ -55,7 +59,7 @@ public class EmailValidator {
             return false;
         }
         
-        return basicPattern.matcher(email).matches();
+        return basicDfa.matches(email);
     }
     
     /**
@@ -83,7 +87,7 @@ public class EmailValidator {
             return false;
         }
         
-        return lengthPattern.matcher(email).matches();
+        return lengthDfa.matches(email);
     }
     
     /**
@@ -110,6 +114,57 @@ public class EmailValidator {
         return null;
     }
     
+    // Slots of the offsets written by extractEmailComponents(CharSequence, int[])
+    public static final int USERNAME_START = 0;
+    public static final int USERNAME_END = 1;
+    public static final int DOMAIN_START = 2;
+    public static final int DOMAIN_END = 3;
+    public static final int TLD_START = 4;
+    public static final int TLD_END = 5;
+    public static final int COMPONENT_OFFSETS = 6;
+    
+    /**
+     * Allocation-free variant of extractEmailComponents: writes the [start, end) offsets of
+     * the username, domain and TLD into the caller's array instead of creating substrings
+     * 
+     * The email is checked with the basic DFA, so every valid address has exactly one '@'
+     * and the TLD is the run of letters after the last '.', as the greedy components
+     * pattern would split it.
+     * 
+     * @param email the email address to extract components from
+     * @param offsets receives the offsets at USERNAME_START..TLD_END, needs COMPONENT_OFFSETS slots
+     * @return true if the email is valid (offsets written), false otherwise (offsets untouched)
+     * @throws IllegalArgumentException if email is not null and offsets is too short
+     */
+    public static boolean extractEmailComponents(CharSequence email, int[] offsets) {
+        if (email == null) {
+            return false;
+        }
+        if (offsets.length < COMPONENT_OFFSETS) {
+            throw new IllegalArgumentException("offsets needs " + COMPONENT_OFFSETS + " slots");
+        }
+        if (!basicDfa.matches(email)) {
+            return false;
+        }
+        
+        int at = 0;
+        while (email.charAt(at) != '@') {
+            at++;
+        }
+        int dot = email.length() - 1;
+        while (email.charAt(dot) != '.') {
+            dot--;
+        }
+        
+        offsets[USERNAME_START] = 0;
+        offsets[USERNAME_END] = at;
+        offsets[DOMAIN_START] = at + 1;
+        offsets[DOMAIN_END] = dot;
+        offsets[TLD_START] = dot + 1;
+        offsets[TLD_END] = email.length();
+        return true;
+    }
+    
     /**
      * Finds all valid email addresses in a text
      * 
@@ -122,15 +177,35 @@ public class EmailValidator {
         }
         
         List<String> emails = new ArrayList<>();
-        Matcher matcher = basicPattern.matcher(text);
         
-        while (matcher.find()) {
-            emails.add(matcher.group());
+        // The pattern is anchored with ^ and $, so a match can only span the whole text,
+        // optionally followed by one final line terminator
+        if (basicDfa.matches(text)) {
+            emails.add(text);
+        } else {
+            int end = finalLineTerminatorStart(text);
+            if (end >= 0 && basicDfa.matches(text, 0, end)) {
+                emails.add(text.substring(0, end));
+            }
         }
         
         return emails;
     }
     
+    // Start of the line terminator that ends the text (where $ also matches), or -1 if there is none
+    private static int finalLineTerminatorStart(String text) {
+        int last = text.length() - 1;
+        char c = text.charAt(last);
+        
+        if (c == '\n') {
+            return last > 0 && text.charAt(last - 1) == '\r' ? last - 1 : last;
+        }
+        if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+            return last;
+        }
+        return -1;
+    }
+    
     /**
      * Validates email by breaking it down into steps:
      * 1. Check if it contains exactly one @ symbol
@@ -232,6 +307,34 @@ public class EmailValidator {
             System.out.println();
         }
         
+        // Allocation-free component extraction with a reused offsets array
+        int[] offsets = new int[COMPONENT_OFFSETS];
+        int valid = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < 100_000; round++) {
+            for (String email : testEmails) {
+                if (extractEmailComponents(email, offsets)) {
+                    valid += offsets[TLD_END] - offsets[TLD_START];
+                }
+            }
+        }
+        System.out.println("Offsets extraction, 100000 rounds: " + (System.nanoTime() - start) / 1_000_000
+                + " ms (checksum " + valid + ")");
+        
+        start = System.nanoTime();
+        valid = 0;
+        for (int round = 0; round < 100_000; round++) {
+            for (String email : testEmails) {
+                String[] components = extractEmailComponents(email);
+                if (components != null) {
+                    valid += components[2].length();
+                }
+            }
+        }
+        System.out.println("Substring extraction, 100000 rounds: " + (System.nanoTime() - start) / 1_000_000
+                + " ms (checksum " + valid + ")");
+        System.out.println();
+        
         // Test finding emails in text
         String text = "Contact us at support@example.com or sales@example.org. "
                 + "For technical issues, email tech.support@sub.example.co.uk. "
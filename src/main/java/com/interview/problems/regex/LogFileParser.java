@@ -6,6 +6,7 @@ import java.io.StringReader;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -292,6 +293,230 @@ public class LogFileParser {
         return null;
     }
     
+    // Supported log formats, in the order parseLog tries them
+    public enum LogFormat {
+        APACHE,
+        APP,
+        JSON;
+        
+        LogEntry parse(String logLine) {
+            switch (this) {
+                case APACHE:
+                    return parseApacheLog(logLine);
+                case APP:
+                    return parseAppLog(logLine);
+                default:
+                    return parseJsonLog(logLine);
+            }
+        }
+        
+        /**
+         * Cheap necessary condition for parse: false means parse surely returns null,
+         * true means it may match
+         */
+        boolean mayMatch(String logLine) {
+            switch (this) {
+                case APACHE:
+                    // "host ident user [dd/MMM/yyyy:HH:mm:ss +zzzz] ...": the fourth token is a
+                    // bracket holding whitespace (\s in the pattern), which an APP line's
+                    // "[source]" never does
+                    int space = -1;
+                    for (int i = 0; i < 3; i++) {
+                        space = logLine.indexOf(' ', space + 1);
+                        if (space < 0) {
+                            return false;
+                        }
+                    }
+                    if (space + 1 >= logLine.length() || logLine.charAt(space + 1) != '[') {
+                        return false;
+                    }
+                    int close = logLine.indexOf(']', space + 2);
+                    for (int i = space + 2; i < close; i++) {
+                        if (isRegexSpace(logLine.charAt(i))) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case APP:
+                    return Character.isDigit(logLine.charAt(0)); // Starts with yyyy-MM-dd
+                default:
+                    return true;
+            }
+        }
+        
+        // The characters \s matches without UNICODE_CHARACTER_CLASS
+        private static boolean isRegexSpace(char c) {
+            return c == ' ' || (c >= '\t' && c <= '\r');
+        }
+    }
+    
+    /**
+     * Per-source format detection cache
+     * 
+     * parseLog tries every format for every line, so a JSON-heavy file pays for two failed
+     * regex matches per line. A FormatDetector belongs to one source (file or stream): it runs
+     * full detection on the first sample lines, locks onto the format that matched most often,
+     * and afterwards tries only that format, falling back to full detection when a line fails.
+     * If a whole sample's worth of consecutive lines needs the fallback, it samples again.
+     * 
+     * The result is always the same as parseLog's. Several formats can accept one line (JSON is
+     * permissive), so the locked format is tried alone only when no format that parseLog tries
+     * before it could match the line; otherwise the line goes through the full order.
+     * 
+     * Not thread-safe; use one detector per source.
+     */
+    public static class FormatDetector {
+        public static final int DEFAULT_SAMPLE_SIZE = 32;
+        
+        private static final LogFormat[] FORMATS = LogFormat.values();
+        
+        private final int sampleSize;
+        private final long[] sampleCounts = new long[FORMATS.length];
+        private int sampled;
+        private LogFormat locked;
+        private int consecutiveFallbacks;
+        
+        // Counters
+        private final long[] formatHits = new long[FORMATS.length];
+        private long lockedHits;
+        private long fallbacks;
+        private long unparsed;
+        private long relocks;
+        
+        public FormatDetector() {
+            this(DEFAULT_SAMPLE_SIZE);
+        }
+        
+        public FormatDetector(int sampleSize) {
+            if (sampleSize <= 0) {
+                throw new IllegalArgumentException("sampleSize must be positive");
+            }
+            this.sampleSize = sampleSize;
+        }
+        
+        /**
+         * Parse a log line, trying the locked format first
+         * 
+         * @param logLine the log line to parse
+         * @return the parsed LogEntry or null if the log line doesn't match any known format
+         */
+        public LogEntry parse(String logLine) {
+            if (logLine == null || logLine.isEmpty()) {
+                return null;
+            }
+            
+            if (locked != null && mayMatchBefore(locked, logLine)) {
+                // Ambiguous: an earlier format might win in parseLog's order
+                return detect(logLine, null);
+            }
+            
+            if (locked != null) {
+                LogEntry entry = locked.parse(logLine);
+                if (entry != null) {
+                    lockedHits++;
+                    formatHits[locked.ordinal()]++;
+                    consecutiveFallbacks = 0;
+                    return entry;
+                }
+                
+                fallbacks++;
+                if (++consecutiveFallbacks >= sampleSize) {
+                    // The source switched formats: detection is thrashing, sample again
+                    locked = null;
+                    sampled = 0;
+                    Arrays.fill(sampleCounts, 0);
+                    consecutiveFallbacks = 0;
+                    relocks++;
+                }
+            }
+            
+            return detect(logLine, locked);
+        }
+        
+        private static boolean mayMatchBefore(LogFormat format, String logLine) {
+            for (int i = 0; i < format.ordinal(); i++) {
+                if (FORMATS[i].mayMatch(logLine)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * Tries the formats in parseLog's order
+         * 
+         * @param skip a format that already failed on this line, or null
+         */
+        private LogEntry detect(String logLine, LogFormat skip) {
+            for (LogFormat format : FORMATS) {
+                if (format == skip) {
+                    continue; // Already failed above
+                }
+                
+                LogEntry entry = format.parse(logLine);
+                if (entry != null) {
+                    formatHits[format.ordinal()]++;
+                    if (locked == null) {
+                        sample(format);
+                    } else if (format == locked) {
+                        consecutiveFallbacks = 0;
+                    }
+                    return entry;
+                }
+            }
+            
+            unparsed++;
+            if (locked == null) {
+                sample(null);
+            }
+            return null;
+        }
+        
+        private void sample(LogFormat format) {
+            if (format != null) {
+                sampleCounts[format.ordinal()]++;
+            }
+            
+            if (++sampled >= sampleSize) {
+                int best = -1;
+                for (int i = 0; i < FORMATS.length; i++) {
+                    if (sampleCounts[i] > 0 && (best == -1 || sampleCounts[i] > sampleCounts[best])) {
+                        best = i;
+                    }
+                }
+                
+                if (best == -1) {
+                    // Nothing parsed in this sample; try again with the next lines
+                    sampled = 0;
+                } else {
+                    locked = FORMATS[best];
+                }
+            }
+        }
+        
+        public LogFormat getLockedFormat() { return locked; }
+        public long getHits(LogFormat format) { return formatHits[format.ordinal()]; }
+        public long getLockedHits() { return lockedHits; }
+        public long getFallbacks() { return fallbacks; }
+        public long getUnparsed() { return unparsed; }
+        public long getRelocks() { return relocks; }
+        
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("FormatDetector{locked=").append(locked);
+            for (LogFormat format : FORMATS) {
+                sb.append(", ").append(format).append("=").append(formatHits[format.ordinal()]);
+            }
+            sb.append(", lockedHits=").append(lockedHits);
+            sb.append(", fallbacks=").append(fallbacks);
+            sb.append(", unparsed=").append(unparsed);
+            sb.append(", relocks=").append(relocks);
+            sb.append("}");
+            return sb.toString();
+        }
+    }
+    
     /**
      * Parse multiple log lines
      * 
@@ -299,17 +524,32 @@ public class LogFileParser {
      * @return a list of parsed LogEntry objects
      */
     public static List<LogEntry> parseLogFile(String logText) {
+        return parseLogFile(logText, null);
+    }
+    
+    /**
+     * Parse multiple log lines and index their messages while parsing
+     * 
+     * @param logText the log text containing multiple lines
+     * @param index the inverted index to fill, keyed by position in the returned list; may be null
+     * @return a list of parsed LogEntry objects
+     */
+    public static List<LogEntry> parseLogFile(String logText, MessageIndex index) {
         if (logText == null || logText.isEmpty()) {
             return new ArrayList<>();
         }
         
         List<LogEntry> entries = new ArrayList<>();
+        FormatDetector detector = new FormatDetector();
         
         try (BufferedReader reader = new BufferedReader(new StringReader(logText))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                LogEntry entry = parseLog(line);
+                LogEntry entry = detector.parse(line);
                 if (entry != null) {
+                    if (index != null) {
+                        index.add(entries.size(), entry.getMessage());
+                    }
                     entries.add(entry);
                 }
             }
@@ -321,6 +561,35 @@ public class LogFileParser {
         return entries;
     }
     
+    /**
+     * Parse multiple log lines straight into a columnar LogTable,
+     * without keeping a LogEntry object per line alive
+     * 
+     * @param logText the log text containing multiple lines
+     * @return a LogTable holding the parsed entries
+     */
+    public static LogTable parseLogTable(String logText) {
+        LogTable table = new LogTable();
+        
+        if (logText == null || logText.isEmpty()) {
+            return table;
+        }
+        
+        FormatDetector detector = new FormatDetector();
+        
+        try (BufferedReader reader = new BufferedReader(new StringReader(logText))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                table.append(detector.parse(line));
+            }
+        } catch (IOException e) {
+            // Handle IO exception
+            System.err.println("Error reading log text: " + e.getMessage());
+        }
+        
+        return table;
+    }
+    
     /**
      * Filter log entries by level
      * 
@@ -443,5 +712,37 @@ public class LogFileParser {
         String jsonLog = "{\"timestamp\":\"2023-05-15T14:30:45.123Z\",\"level\":\"INFO\",\"logger\":\"auth\",\"message\":\"User authenticated\",\"userId\":\"12345\",\"ipAddress\":\"192.168.1.1\"}";
         LogEntry jsonEntry = parseJsonLog(jsonLog);
         System.out.println(jsonEntry);
+        
+        System.out.println("\n=== FORMAT DETECTION ===");
+        FormatDetector detector = new FormatDetector();
+        for (int i = 0; i < 1000; i++) {
+            detector.parse(i % 100 == 0 ? appLog : jsonLog);
+        }
+        System.out.println(detector);
+        
+        // Lines several formats accept must parse as with parseLog, whatever format is locked
+        StringBuilder mixed = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            mixed.append(jsonLog).append('\n');
+            if (i % 20 == 0) {
+                mixed.append(appLog).append('\n');
+                mixed.append(apacheLog).append('\n');
+                mixed.append("2023-05-15 14:30:45.123 INFO [gateway] - Forwarded {\"message\":\"hello\",\"userId\":\"7\"}\n");
+                mixed.append("example.com - u [10/Oct/2000:13:55:36\t-0700] \"GET /\"message\":\"v\" HTTP/1.0\" 200 1\n");
+            }
+        }
+        List<LogEntry> detected = parseLogFile(mixed.toString());
+        List<String> expected = new ArrayList<>();
+        for (String line : mixed.toString().split("\n")) {
+            LogEntry entry = parseLog(line);
+            if (entry != null) {
+                expected.add(entry.toString());
+            }
+        }
+        boolean same = detected.size() == expected.size();
+        for (int i = 0; same && i < detected.size(); i++) {
+            same = detected.get(i).toString().equals(expected.get(i));
+        }
+        System.out.println("Mixed input, same entries as parseLog line by line: " + same);
     }
 }
\ No newline at end of file
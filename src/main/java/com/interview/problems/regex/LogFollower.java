@@ -0,0 +1,428 @@
+package com.interview.problems.regex;
+
+import com.interview.problems.regex.LogFileParser.FormatDetector;
+import com.interview.problems.regex.LogFileParser.LogEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tail-follow mode for live, growing log files
+ * 
+ * Tracks the read position in the file and parses only the bytes appended since the last
+ * poll. A trailing partial line is kept until its newline arrives. Rotation (the path now
+ * points to a different file) is detected through the file key: the old file is drained
+ * first, then reading restarts at the beginning of the new one. Truncation (the file got
+ * shorter than the read position) restarts reading from the beginning.
+ * 
+ * Parsed entries are published in batches through java.util.concurrent.Flow. The publisher
+ * has a bounded buffer per subscriber, and publishing waits while a buffer is full, so a slow
+ * subscriber stops the follower from reading further instead of growing memory. The wait
+ * gives up once close() is called, so a stalled subscriber cannot keep the follower alive.
+ * 
+ * Time Complexity: O(k) per poll where k is the number of appended bytes
+ * Space Complexity: O(batch size * buffer capacity + longest partial line)
+ */
+public class LogFollower implements Flow.Publisher<List<LogEntry>>, AutoCloseable {
+    
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 5;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+    
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    private final Path logFile;
+    private final long pollIntervalMillis;
+    private final int maxBatchSize;
+    private final SubmissionPublisher<List<LogEntry>> publisher;
+    private final FormatDetector detector = new FormatDetector();
+    
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final byte[] chunk = new byte[READ_BUFFER_SIZE];
+    private byte[] partialLine = new byte[256];
+    private int partialLength;
+    
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private boolean startAtEnd;
+    
+    private volatile boolean running;
+    private volatile boolean closed;
+    private Thread worker;
+    
+    /**
+     * @param logFile the file to follow
+     * @param fromStart whether to parse existing content first or only what is appended later
+     */
+    public LogFollower(Path logFile, boolean fromStart) {
+        this(logFile, fromStart, DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_MAX_BATCH_SIZE, Flow.defaultBufferSize());
+    }
+    
+    /**
+     * @param logFile the file to follow
+     * @param fromStart whether to parse existing content first or only what is appended later
+     * @param pollIntervalMillis how long to sleep when no new data is available
+     * @param maxBatchSize the maximum number of entries per published batch
+     * @param bufferCapacity the number of batches buffered per subscriber before the follower blocks
+     */
+    public LogFollower(Path logFile, boolean fromStart, long pollIntervalMillis, int maxBatchSize, int bufferCapacity) {
+        this.logFile = Objects.requireNonNull(logFile);
+        this.startAtEnd = !fromStart;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferCapacity);
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<LogEntry>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+    
+    /**
+     * Starts following on a background daemon thread
+     */
+    public synchronized void start() {
+        if (worker != null && worker.isAlive()) {
+            throw new IllegalStateException("Previous follower thread is still stopping");
+        }
+        if (running) {
+            return;
+        }
+        
+        running = true;
+        worker = new Thread(this::run, "log-follower-" + logFile.getFileName());
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    private void run() {
+        try {
+            while (running) {
+                if (readNew() == 0) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            }
+        } catch (InterruptedException | ClosedByInterruptException e) {
+            // Interrupted by close() while sleeping or reading
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            publisher.closeExceptionally(e);
+            return;
+        } finally {
+            closeChannel();
+        }
+        
+        publisher.close();
+    }
+    
+    /**
+     * Reads and publishes everything appended since the last poll, on the calling thread.
+     * For manual polling only: the read state is owned by the background thread while it runs.
+     * 
+     * @return the number of bytes consumed
+     * @throws IllegalStateException if the follower was started and has not stopped yet
+     */
+    public synchronized long poll() throws IOException {
+        if (running || (worker != null && worker.isAlive())) {
+            throw new IllegalStateException("Follower is running on its own thread");
+        }
+        return readNew();
+    }
+    
+    private long readNew() throws IOException {
+        long consumed = 0;
+        
+        if (channel == null && !openChannel()) {
+            return 0; // File does not exist (yet)
+        }
+        
+        BasicFileAttributes attributes = currentAttributes();
+        if (attributes != null && !Objects.equals(attributes.fileKey(), fileKey)) {
+            // Rotated: finish the old file, then start over on the new one
+            consumed += readAvailable(true);
+            closeChannel();
+            if (!openChannel()) {
+                return consumed;
+            }
+        } else if (channel.size() < position) {
+            // Truncated: the old content is gone, start over
+            position = 0;
+            partialLength = 0;
+        }
+        
+        consumed += readAvailable(false);
+        return consumed;
+    }
+    
+    private boolean openChannel() throws IOException {
+        BasicFileAttributes attributes = currentAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        
+        try {
+            channel = FileChannel.open(logFile, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        
+        fileKey = attributes.fileKey();
+        position = startAtEnd ? channel.size() : 0;
+        startAtEnd = false; // Only the first file may be skipped; rotated files are read in full
+        partialLength = 0;
+        return true;
+    }
+    
+    private BasicFileAttributes currentAttributes() throws IOException {
+        try {
+            return Files.readAttributes(logFile, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+    
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to read from it anyway
+            }
+            channel = null;
+        }
+    }
+    
+    private long readAvailable(boolean flushPartial) throws IOException {
+        List<LogEntry> batch = new ArrayList<>();
+        long consumed = 0;
+        int read;
+        
+        while (!closed && (read = channel.read(readBuffer, position)) > 0) {
+            readBuffer.flip();
+            readBuffer.get(chunk, 0, read);
+            readBuffer.clear();
+            
+            position += read;
+            consumed += read;
+            
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (chunk[i] == '\n') {
+                    appendPartial(chunk, lineStart, i - lineStart);
+                    batch = emitLine(batch);
+                    lineStart = i + 1;
+                }
+            }
+            appendPartial(chunk, lineStart, read - lineStart);
+        }
+        
+        if (flushPartial && partialLength > 0) {
+            batch = emitLine(batch);
+        }
+        
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+        
+        return consumed;
+    }
+    
+    private void appendPartial(byte[] bytes, int offset, int length) {
+        if (partialLength + length > partialLine.length) {
+            partialLine = Arrays.copyOf(partialLine, Math.max(partialLength + length, partialLine.length * 2));
+        }
+        System.arraycopy(bytes, offset, partialLine, partialLength, length);
+        partialLength += length;
+    }
+    
+    private List<LogEntry> emitLine(List<LogEntry> batch) {
+        int length = partialLength;
+        if (length > 0 && partialLine[length - 1] == '\r') {
+            length--;
+        }
+        
+        LogEntry entry = detector.parse(new String(partialLine, 0, length, StandardCharsets.UTF_8));
+        partialLength = 0;
+        
+        if (entry != null) {
+            batch.add(entry);
+            if (batch.size() >= maxBatchSize) {
+                // Waits while the slowest subscriber's buffer is full
+                publish(batch);
+                return new ArrayList<>();
+            }
+        }
+        
+        return batch;
+    }
+    
+    /**
+     * Offers a batch to every subscriber. SubmissionPublisher.submit would block without
+     * noticing close() or interrupts; a timed offer with a drop handler waits for space in
+     * short steps instead and drops the batch for a stalled subscriber only once closing.
+     */
+    private void publish(List<LogEntry> batch) {
+        if (closed) {
+            return;
+        }
+        publisher.offer(batch, pollIntervalMillis, TimeUnit.MILLISECONDS, (subscriber, item) -> awaitSpace());
+    }
+    
+    /**
+     * Waits until every subscriber buffer has room; only this thread publishes, so room found
+     * here is still there when the offer is retried
+     * 
+     * @return true to retry the offer, false to drop it because the follower is closing
+     */
+    private boolean awaitSpace() {
+        while (!closed && !Thread.currentThread().isInterrupted()) {
+            if (publisher.estimateMaximumLag() < publisher.getMaxBufferCapacity()) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.max(1, pollIntervalMillis)));
+        }
+        return false;
+    }
+    
+    /**
+     * @return the format detection counters for the followed file
+     */
+    public FormatDetector getFormatDetector() {
+        return detector;
+    }
+    
+    /**
+     * @return the byte offset up to which the current file has been read
+     */
+    public long getPosition() {
+        return position;
+    }
+    
+    /**
+     * Stops following and completes the subscribers
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (!running) {
+            publisher.close();
+            closeChannel();
+            return;
+        }
+        
+        running = false;
+        try {
+            // Let the current poll finish; interrupt only if it stays blocked
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+            if (worker.isAlive()) {
+                worker.interrupt();
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        if (worker.isAlive()) {
+            // Still stuck (e.g. in a subscriber callback); complete the subscribers anyway
+            publisher.close();
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path logFile = Files.createTempFile("live", ".log");
+        logFile.toFile().deleteOnExit();
+        
+        int lines = 2_000;
+        CountDownLatch appended = new CountDownLatch(lines);
+        CountDownLatch done = new CountDownLatch(lines + 2);
+        long[] latencyNanos = new long[2]; // {total, max}
+        
+        try (LogFollower follower = new LogFollower(logFile, true)) {
+            follower.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+                
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+                
+                @Override
+                public void onNext(List<LogEntry> batch) {
+                    long now = System.nanoTime();
+                    for (LogEntry entry : batch) {
+                        String sentAt = entry.getAdditionalFields().get("sentAt");
+                        if (sentAt != null) {
+                            long latency = now - Long.parseLong(sentAt);
+                            latencyNanos[0] += latency;
+                            latencyNanos[1] = Math.max(latencyNanos[1], latency);
+                            appended.countDown();
+                        } else {
+                            System.out.println("Received: " + entry);
+                        }
+                        done.countDown();
+                    }
+                    subscription.request(1);
+                }
+                
+                @Override
+                public void onError(Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+                
+                @Override
+                public void onComplete() {
+                    System.out.println("Follower completed");
+                }
+            });
+            follower.start();
+            
+            System.out.println("=== FOLLOWING " + logFile.getFileName() + " ===");
+            
+            // Appended JSON lines carry their write time so the subscriber can measure latency
+            for (int i = 0; i < lines; i++) {
+                String line = "{\"timestamp\":\"2023-05-15T14:30:45.123Z\",\"level\":\"INFO\",\"logger\":\"app\","
+                        + "\"message\":\"Request " + i + "\",\"sentAt\":\"" + System.nanoTime() + "\"}\n";
+                Files.write(logFile, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+                LockSupport.parkNanos(1_000_000);
+            }
+            appended.await(10, TimeUnit.SECONDS);
+            
+            // Truncate and keep writing, as a copytruncate log rotation would
+            Files.write(logFile, "2023-05-15 14:31:12.456 WARN [app] - After truncation\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            
+            // Replace the file, as a rename-and-recreate rotation would
+            Path rotated = Files.createTempFile("live-new", ".log");
+            rotated.toFile().deleteOnExit();
+            Files.write(rotated, "2023-05-15 14:32:00.000 INFO [app] - First line after rotation\n".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(50);
+            Files.move(rotated, logFile, StandardCopyOption.REPLACE_EXISTING);
+            
+            done.await(10, TimeUnit.SECONDS);
+            System.out.println("Received " + (lines + 2 - done.getCount()) + " of " + (lines + 2) + " entries");
+            System.out.println(follower.getFormatDetector());
+            System.out.println("End-to-end latency: avg " + latencyNanos[0] / lines / 1_000 + " us, max "
+                    + latencyNanos[1] / 1_000 + " us (includes JIT warm-up)");
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package com.interview.problems.regex;
+
+import com.interview.problems.regex.LogFileParser.LogEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Columnar in-memory store for parsed log entries
+ *
+ * A List<LogEntry> keeps one object per line plus a HashMap of additional fields, which costs
+ * hundreds of bytes per line. LogTable stores the same data column by column instead:
+ * - timestamps as epoch milliseconds (UTC) in a long[]
+ * - log level, source and IP address as dictionary-encoded int[] columns
+ * - messages as UTF-8 bytes in a shared, paged byte arena
+ *
+ * Filters and group-by aggregations are simple counted loops over primitive arrays,
+ * so the JIT can unroll and vectorize them.
+ *
+ * Time Complexity: O(1) amortized per appended row, O(n) per filter or aggregation scan
+ * Space Complexity: about 32 bytes per row plus the message bytes and the distinct dictionary values
+ */
+public class LogTable {
+    
+    // Marker for a missing timestamp
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    
+    // Marker for a missing dictionary-encoded value
+    public static final int NO_VALUE = -1;
+    
+    // Message arena page size (16 MB); larger messages get a page of their own
+    private static final int PAGE_SHIFT = 24;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    
+    // A new page starts this small and doubles in place up to PAGE_SIZE, so small tables stay small
+    private static final int INITIAL_PAGE_SIZE = 4096;
+    
+    private static final int DEFAULT_CAPACITY = 1024;
+    
+    /**
+     * Dictionary-encoded columns
+     */
+    public enum Column {
+        LEVEL,
+        SOURCE,
+        IP_ADDRESS
+    }
+    
+    /**
+     * Maps each distinct string of a column to a dense int code and back
+     */
+    public static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        
+        /**
+         * Returns the code for a value, assigning the next free code if the value is new
+         */
+        public int encode(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            
+            return code;
+        }
+        
+        /**
+         * Returns the code for a value, or NO_VALUE if the value has never been seen
+         */
+        public int lookup(String value) {
+            if (value == null) {
+                return NO_VALUE;
+            }
+            
+            Integer code = codes.get(value);
+            return code == null ? NO_VALUE : code;
+        }
+        
+        public String decode(int code) {
+            return code == NO_VALUE ? null : values.get(code);
+        }
+        
+        public int size() {
+            return values.size();
+        }
+    }
+    
+    private long[] timestamps;
+    private int[] levels;
+    private int[] sources;
+    private int[] ipAddresses;
+    
+    // Message address: (page index << 32) | offset in page; length -1 means null message
+    private long[] messageAddresses;
+    private int[] messageLengths;
+    
+    private final List<byte[]> pages = new ArrayList<>();
+    private int pagePosition;
+    
+    private final Dictionary levelDictionary = new Dictionary();
+    private final Dictionary sourceDictionary = new Dictionary();
+    private final Dictionary ipDictionary = new Dictionary();
+    
+    private int size;
+    
+    public LogTable() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public LogTable(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.timestamps = new long[capacity];
+        this.levels = new int[capacity];
+        this.sources = new int[capacity];
+        this.ipAddresses = new int[capacity];
+        this.messageAddresses = new long[capacity];
+        this.messageLengths = new int[capacity];
+    }
+    
+    /**
+     * Builds a table from parsed log entries
+     *
+     * @param entries the entries produced by LogFileParser
+     * @return a columnar table holding the same entries
+     */
+    public static LogTable from(List<LogEntry> entries) {
+        LogTable table = new LogTable(entries == null ? DEFAULT_CAPACITY : entries.size());
+        
+        if (entries != null) {
+            for (LogEntry entry : entries) {
+                table.append(entry);
+            }
+        }
+        
+        return table;
+    }
+    
+    /**
+     * Appends a parsed log entry as a new row
+     *
+     * Log levels are stored upper-cased, matching the case-insensitive level filter of LogFileParser.
+     * Fields without a column of their own (userId, additionalFields) are not retained.
+     *
+     * @param entry the entry to append
+     */
+    public void append(LogEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        
+        ensureCapacity(size + 1);
+        
+        LocalDateTime timestamp = entry.getTimestamp();
+        timestamps[size] = timestamp == null ? NO_TIMESTAMP : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+        
+        String level = entry.getLogLevel();
+        levels[size] = levelDictionary.encode(level == null ? null : level.toUpperCase(Locale.ROOT));
+        sources[size] = sourceDictionary.encode(entry.getSource());
+        ipAddresses[size] = ipDictionary.encode(entry.getIpAddress());
+        
+        storeMessage(size, entry.getMessage());
+        
+        size++;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required <= timestamps.length) {
+            return;
+        }
+        
+        int capacity = Math.max(required, timestamps.length + (timestamps.length >> 1));
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        ipAddresses = Arrays.copyOf(ipAddresses, capacity);
+        messageAddresses = Arrays.copyOf(messageAddresses, capacity);
+        messageLengths = Arrays.copyOf(messageLengths, capacity);
+    }
+    
+    private void storeMessage(int row, String message) {
+        if (message == null) {
+            messageAddresses[row] = 0;
+            messageLengths[row] = -1;
+            return;
+        }
+        
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        
+        if (bytes.length > PAGE_SIZE) {
+            // Oversized message: give it a dedicated, already full page
+            pages.add(bytes);
+            messageAddresses[row] = (long) (pages.size() - 1) << 32;
+            messageLengths[row] = bytes.length;
+            pagePosition = bytes.length;
+            return;
+        }
+        
+        int needed = pagePosition + bytes.length;
+        if (pages.isEmpty() || needed > pages.get(pages.size() - 1).length) {
+            int last = pages.size() - 1;
+            if (!pages.isEmpty() && needed <= PAGE_SIZE && pages.get(last).length < PAGE_SIZE) {
+                // Grow the last page; the offsets of messages already in it stay valid
+                pages.set(last, Arrays.copyOf(pages.get(last), Math.min(PAGE_SIZE, Math.max(needed, pages.get(last).length * 2))));
+            } else {
+                pages.add(new byte[Math.max(INITIAL_PAGE_SIZE, bytes.length)]);
+                pagePosition = 0;
+            }
+        }
+        
+        int pageIndex = pages.size() - 1;
+        System.arraycopy(bytes, 0, pages.get(pageIndex), pagePosition, bytes.length);
+        messageAddresses[row] = ((long) pageIndex << 32) | pagePosition;
+        messageLengths[row] = bytes.length;
+        pagePosition += bytes.length;
+    }
+    
+    /**
+     * Releases unused capacity in the columns and the last arena page
+     */
+    public void trimToSize() {
+        timestamps = Arrays.copyOf(timestamps, size);
+        levels = Arrays.copyOf(levels, size);
+        sources = Arrays.copyOf(sources, size);
+        ipAddresses = Arrays.copyOf(ipAddresses, size);
+        messageAddresses = Arrays.copyOf(messageAddresses, size);
+        messageLengths = Arrays.copyOf(messageLengths, size);
+        
+        if (!pages.isEmpty() && pagePosition < pages.get(pages.size() - 1).length) {
+            int last = pages.size() - 1;
+            pages.set(last, Arrays.copyOf(pages.get(last), pagePosition));
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public Dictionary dictionary(Column column) {
+        switch (column) {
+            case LEVEL:
+                return levelDictionary;
+            case SOURCE:
+                return sourceDictionary;
+            default:
+                return ipDictionary;
+        }
+    }
+    
+    private int[] codes(Column column) {
+        switch (column) {
+            case LEVEL:
+                return levels;
+            case SOURCE:
+                return sources;
+            default:
+                return ipAddresses;
+        }
+    }
+    
+    private int lookupCode(Column column, String value) {
+        if (column == Column.LEVEL && value != null) {
+            value = value.toUpperCase(Locale.ROOT);
+        }
+        return dictionary(column).lookup(value);
+    }
+    
+    // Row accessors
+    
+    public long getTimestampMillis(int row) {
+        checkRow(row);
+        return timestamps[row];
+    }
+    
+    public LocalDateTime getTimestamp(int row) {
+        long millis = getTimestampMillis(row);
+        return millis == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+    
+    public String getLogLevel(int row) {
+        checkRow(row);
+        return levelDictionary.decode(levels[row]);
+    }
+    
+    public String getSource(int row) {
+        checkRow(row);
+        return sourceDictionary.decode(sources[row]);
+    }
+    
+    public String getIpAddress(int row) {
+        checkRow(row);
+        return ipDictionary.decode(ipAddresses[row]);
+    }
+    
+    public String getMessage(int row) {
+        checkRow(row);
+        int length = messageLengths[row];
+        if (length < 0) {
+            return null;
+        }
+        
+        long address = messageAddresses[row];
+        return new String(pages.get((int) (address >>> 32)), (int) address, length, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Materializes a row back into a LogEntry
+     */
+    public LogEntry toLogEntry(int row) {
+        LogEntry entry = new LogEntry();
+        entry.setTimestamp(getTimestamp(row));
+        entry.setLogLevel(getLogLevel(row));
+        entry.setSource(getSource(row));
+        entry.setIpAddress(getIpAddress(row));
+        entry.setMessage(getMessage(row));
+        return entry;
+    }
+    
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+    
+    // Scans
+    
+    /**
+     * Selects the rows whose dictionary-encoded column equals the given value
+     *
+     * @param column the column to filter on
+     * @param value the value to match (case-insensitive for LEVEL)
+     * @return the matching row ids in ascending order
+     */
+    public int[] filterEquals(Column column, String value) {
+        int code = lookupCode(column, value);
+        if (code == NO_VALUE) {
+            return new int[0];
+        }
+        
+        int[] columnCodes = codes(column);
+        int[] selection = new int[size];
+        int count = 0;
+        
+        // Branch-free compaction: always write, only advance on a match
+        for (int i = 0; i < size; i++) {
+            selection[count] = i;
+            count += columnCodes[i] == code ? 1 : 0;
+        }
+        
+        return Arrays.copyOf(selection, count);
+    }
+    
+    /**
+     * Selects the rows with a timestamp in [fromMillis, toMillis)
+     *
+     * @return the matching row ids in ascending order
+     */
+    public int[] filterByTimeRange(long fromMillis, long toMillis) {
+        int[] selection = new int[size];
+        int count = 0;
+        
+        for (int i = 0; i < size; i++) {
+            long ts = timestamps[i];
+            selection[count] = i;
+            count += (ts >= fromMillis & ts < toMillis) ? 1 : 0;
+        }
+        
+        return Arrays.copyOf(selection, count);
+    }
+    
+    /**
+     * Narrows a selection to the rows whose message contains a match of the pattern
+     *
+     * @param rows the candidate rows, or null for all rows
+     * @param pattern the regex pattern to find in the message
+     * @return the matching row ids
+     */
+    public int[] filterByMessage(int[] rows, String pattern) {
+        Pattern p = Pattern.compile(pattern);
+        int limit = rows == null ? size : rows.length;
+        int[] selection = new int[limit];
+        int count = 0;
+        
+        for (int i = 0; i < limit; i++) {
+            int row = rows == null ? i : rows[i];
+            String message = getMessage(row);
+            if (message != null && p.matcher(message).find()) {
+                selection[count++] = row;
+            }
+        }
+        
+        return Arrays.copyOf(selection, count);
+    }
+    
+    /**
+     * Counts rows per dictionary code of a column
+     *
+     * @return counts indexed by code; rows without a value are not counted
+     */
+    public long[] countByCode(Column column) {
+        int[] columnCodes = codes(column);
+        // Slot 0 collects NO_VALUE rows so the loop needs no branch
+        long[] counts = new long[dictionary(column).size() + 1];
+        
+        for (int i = 0; i < size; i++) {
+            counts[columnCodes[i] + 1]++;
+        }
+        
+        return Arrays.copyOfRange(counts, 1, counts.length);
+    }
+    
+    /**
+     * Counts rows per dictionary code of a column, restricted to a selection
+     */
+    public long[] countByCode(Column column, int[] rows) {
+        int[] columnCodes = codes(column);
+        long[] counts = new long[dictionary(column).size() + 1];
+        
+        for (int row : rows) {
+            counts[columnCodes[row] + 1]++;
+        }
+        
+        return Arrays.copyOfRange(counts, 1, counts.length);
+    }
+    
+    /**
+     * Group-by count over a dictionary-encoded column
+     *
+     * @return a map from value to row count, in dictionary order
+     */
+    public Map<String, Long> countBy(Column column) {
+        return decodeCounts(column, countByCode(column));
+    }
+    
+    /**
+     * Group-by count over a dictionary-encoded column, restricted to a selection
+     */
+    public Map<String, Long> countBy(Column column, int[] rows) {
+        return decodeCounts(column, countByCode(column, rows));
+    }
+    
+    private Map<String, Long> decodeCounts(Column column, long[] counts) {
+        Dictionary dictionary = dictionary(column);
+        Map<String, Long> result = new LinkedHashMap<>();
+        
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(dictionary.decode(code), counts[code]);
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Returns the earliest and latest timestamps as {min, max}, or null if no row has a timestamp
+     */
+    public long[] timestampRange() {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        
+        for (int i = 0; i < size; i++) {
+            long ts = timestamps[i];
+            if (ts != NO_TIMESTAMP) {
+                min = Math.min(min, ts);
+                max = Math.max(max, ts);
+            }
+        }
+        
+        return min == Long.MAX_VALUE ? null : new long[] {min, max};
+    }
+    
+    public static void main(String[] args) {
+        String logs = "127.0.0.1 - frank [10/Oct/2000:13:55:36 -0700] \"GET /apache_pb.gif HTTP/1.0\" 200 2326\n" +
+                "2023-05-15 14:30:45.123 INFO [application] - User login successful. UserId=12345 IP=192.168.1.1\n" +
+                "2023-05-15 14:31:12.456 ERROR [database] - Connection refused. Retry attempt 1\n" +
+                "2023-05-15 14:32:01.000 error [database] - Connection refused. Retry attempt 2\n" +
+                "{\"timestamp\":\"2023-05-15T14:35:12.456Z\",\"level\":\"ERROR\",\"logger\":\"database\",\"message\":\"Query timeout\"}";
+        
+        LogTable table = LogFileParser.parseLogTable(logs);
+        
+        System.out.println("=== LOG TABLE (" + table.size() + " rows) ===");
+        for (int row = 0; row < table.size(); row++) {
+            System.out.println(table.toLogEntry(row));
+        }
+        
+        System.out.println("\n=== COUNT BY LEVEL ===");
+        System.out.println(table.countBy(Column.LEVEL));
+        
+        System.out.println("\n=== ERROR COUNT BY SOURCE ===");
+        System.out.println(table.countBy(Column.SOURCE, table.filterEquals(Column.LEVEL, "error")));
+        
+        // Scan throughput on a synthetic table
+        int rows = 5_000_000;
+        String[] levelNames = {"DEBUG", "INFO", "WARN", "ERROR"};
+        LogTable large = new LogTable(rows);
+        for (int i = 0; i < rows; i++) {
+            LogEntry entry = new LogEntry();
+            entry.setTimestamp(LocalDateTime.of(2023, 5, 15, 0, 0).plusSeconds(i));
+            entry.setLogLevel(levelNames[i & 3]);
+            entry.setSource("service-" + (i % 50));
+            entry.setMessage("request " + i + " handled");
+            large.append(entry);
+        }
+        
+        long start = System.nanoTime();
+        Map<String, Long> errorsBySource = large.countBy(Column.SOURCE, large.filterEquals(Column.LEVEL, "ERROR"));
+        long elapsed = System.nanoTime() - start;
+        
+        System.out.println("\n=== SCAN OVER " + rows + " ROWS ===");
+        System.out.println("Sources with errors: " + errorsBySource.size() + ", took " + elapsed / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,319 @@
+package com.interview.problems.regex;
+
+import com.interview.problems.regex.LogFileParser.LogEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over log messages
+ * 
+ * Maps every token of a message (a lower-cased run of letters and digits) to the ids of the
+ * entries containing it. Posting lists are stored as delta-encoded varints in a growable
+ * byte[], so a frequent token costs about one byte per entry.
+ * 
+ * Term queries decode a single posting list, AND queries intersect the lists starting from
+ * the shortest one, and OR queries merge them. A regex filter then only has to verify the
+ * candidates instead of scanning every message.
+ * 
+ * Time Complexity: O(m) to index a message of length m, O(sum of posting list sizes) per query
+ * Space Complexity: O(number of distinct tokens + total postings)
+ */
+public class MessageIndex {
+    
+    /**
+     * Posting list of ascending entry ids, delta + varint encoded
+     */
+    static class PostingList {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int count;
+        private int lastId = -1;
+        
+        void add(int id) {
+            if (id == lastId) {
+                return; // Token repeated within the same message
+            }
+            if (id < lastId) {
+                throw new IllegalArgumentException("Entry ids must be added in ascending order");
+            }
+            
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            
+            int delta = id - lastId;
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+            
+            lastId = id;
+            count++;
+        }
+        
+        int[] decode() {
+            int[] ids = new int[count];
+            int id = -1;
+            int pos = 0;
+            
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                
+                id += delta;
+                ids[i] = id;
+            }
+            
+            return ids;
+        }
+        
+        int size() {
+            return count;
+        }
+        
+        int byteSize() {
+            return length;
+        }
+    }
+    
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int lastEntryId = -1;
+    
+    /**
+     * Indexes the message of an entry
+     * 
+     * @param entryId the id of the entry (its position in the parsed list); ids must be ascending
+     * @param message the message to tokenize
+     */
+    public void add(int entryId, String message) {
+        if (entryId < lastEntryId) {
+            throw new IllegalArgumentException("Entry ids must be added in ascending order");
+        }
+        lastEntryId = entryId;
+        
+        if (message == null) {
+            return;
+        }
+        
+        int length = message.length();
+        int i = 0;
+        
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(message.charAt(i))) {
+                i++;
+            }
+            
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(message.charAt(i))) {
+                i++;
+            }
+            
+            if (i > start) {
+                String token = message.substring(start, i).toLowerCase(Locale.ROOT);
+                postings.computeIfAbsent(token, t -> new PostingList()).add(entryId);
+            }
+        }
+    }
+    
+    /**
+     * Returns the ids of the entries containing a token
+     * 
+     * @param term the token to look up (case-insensitive)
+     * @return ascending entry ids
+     */
+    public int[] term(String term) {
+        if (term == null) {
+            return new int[0];
+        }
+        
+        PostingList list = postings.get(term.toLowerCase(Locale.ROOT));
+        return list == null ? new int[0] : list.decode();
+    }
+    
+    /**
+     * Returns the ids of the entries containing all the given tokens
+     * 
+     * @param terms the tokens that must all be present
+     * @return ascending entry ids
+     */
+    public int[] and(String... terms) {
+        if (terms == null || terms.length == 0) {
+            return new int[0];
+        }
+        
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = term == null ? null : postings.get(term.toLowerCase(Locale.ROOT));
+            if (list == null) {
+                return new int[0]; // A missing term empties the intersection
+            }
+            lists.add(list);
+        }
+        
+        // Intersect starting with the rarest term so the candidate set shrinks fastest
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        
+        int[] result = lists.get(0).decode();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i).decode());
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Returns the ids of the entries containing at least one of the given tokens
+     * 
+     * @param terms the tokens of which any may be present
+     * @return ascending entry ids
+     */
+    public int[] or(String... terms) {
+        int[] result = new int[0];
+        
+        if (terms == null) {
+            return result;
+        }
+        
+        for (String term : terms) {
+            result = union(result, term(term));
+        }
+        
+        return result;
+    }
+    
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        
+        return Arrays.copyOf(result, k);
+    }
+    
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        
+        while (i < a.length) {
+            result[k++] = a[i++];
+        }
+        while (j < b.length) {
+            result[k++] = b[j++];
+        }
+        
+        return Arrays.copyOf(result, k);
+    }
+    
+    /**
+     * Filters entries by message pattern, running the regex only on the candidates
+     * that contain all the required tokens
+     * 
+     * @param entries the entries this index was built over
+     * @param pattern the regex pattern to match in the message
+     * @param requiredTerms tokens every match is known to contain
+     * @return filtered list of log entries
+     */
+    public List<LogEntry> filterByMessage(List<LogEntry> entries, String pattern, String... requiredTerms) {
+        if (entries == null || pattern == null) {
+            return new ArrayList<>();
+        }
+        
+        if (requiredTerms == null || requiredTerms.length == 0) {
+            return LogFileParser.filterByMessage(entries, pattern);
+        }
+        
+        Pattern p = Pattern.compile(pattern);
+        List<LogEntry> filtered = new ArrayList<>();
+        
+        for (int id : and(requiredTerms)) {
+            LogEntry entry = entries.get(id);
+            if (entry.getMessage() != null && p.matcher(entry.getMessage()).find()) {
+                filtered.add(entry);
+            }
+        }
+        
+        return filtered;
+    }
+    
+    /**
+     * @return the number of distinct tokens
+     */
+    public int termCount() {
+        return postings.size();
+    }
+    
+    /**
+     * @return the total size of the compressed posting lists in bytes
+     */
+    public long postingBytes() {
+        long total = 0;
+        for (PostingList list : postings.values()) {
+            total += list.byteSize();
+        }
+        return total;
+    }
+    
+    public static void main(String[] args) {
+        String logs = "2023-05-15 14:30:45.123 INFO [application] - User login successful. UserId=12345\n" +
+                "2023-05-15 14:31:12.456 ERROR [database] - Connection refused. Retry attempt 1\n" +
+                "2023-05-15 14:31:13.456 ERROR [database] - Connection refused. Retry attempt 2\n" +
+                "2023-05-15 14:32:00.000 WARN [application] - User login failed. UserId=67890\n" +
+                "{\"timestamp\":\"2023-05-15T14:35:12.456Z\",\"level\":\"ERROR\",\"logger\":\"database\",\"message\":\"Query timeout\"}";
+        
+        MessageIndex index = new MessageIndex();
+        List<LogEntry> entries = LogFileParser.parseLogFile(logs, index);
+        
+        System.out.println("=== INDEX ===");
+        System.out.println("Terms: " + index.termCount() + ", posting bytes: " + index.postingBytes());
+        
+        System.out.println("\n=== TERM QUERIES ===");
+        System.out.println("login: " + Arrays.toString(index.term("login")));
+        System.out.println("connection AND refused: " + Arrays.toString(index.and("connection", "refused")));
+        System.out.println("timeout OR failed: " + Arrays.toString(index.or("timeout", "failed")));
+        
+        System.out.println("\n=== REGEX VERIFIED ON CANDIDATES ===");
+        for (LogEntry entry : index.filterByMessage(entries, "attempt [2-9]", "attempt")) {
+            System.out.println(entry);
+        }
+    }
+}
@@ -0,0 +1,675 @@
+package com.interview.problems.regex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Multi-pattern matching with an Aho-Corasick prefilter
+ * 
+ * Running dozens of patterns over the same text with PatternMatcher scans the text once per
+ * pattern. MultiPatternMatcher compiles a set of patterns once and extracts, for each one, a
+ * literal fragment that every match must contain (for example "ERROR" in "ERROR \\d+"). All
+ * fragments go into one Aho-Corasick automaton, so a single pass over the text finds every
+ * position where any pattern can possibly match.
+ * 
+ * The full regex then only runs near those candidates:
+ * - patterns whose fragment never occurs are skipped entirely
+ * - if the part of the pattern before its fragment has a bounded width W, the regex is only
+ *   tried (anchored) at the W + 1 start positions before each fragment occurrence
+ * - otherwise the regex searches normally, but stops as soon as no fragment occurrence is left
+ * Patterns without a usable fragment (top-level alternation, inline flags, case-insensitive)
+ * always run in full. Results are the same as calling findAll for every pattern.
+ * 
+ * Time Complexity: O(n + h * W * r) where n is the text length, h the number of fragment hits
+ *                  and r the cost of one anchored regex attempt
+ * Space Complexity: O(L * 128) for the automaton, L being the total fragment length
+ */
+public class MultiPatternMatcher {
+    
+    private static final int ALPHABET = 128;
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+    
+    // Width in chars of an atom that matches one code point, which may be a surrogate pair
+    private static final int CODE_POINT_WIDTH = 2;
+    
+    /**
+     * A match of one of the patterns
+     */
+    public static class Match {
+        private final int patternIndex;
+        private final int start;
+        private final int end;
+        
+        Match(int patternIndex, int start, int end) {
+            this.patternIndex = patternIndex;
+            this.start = start;
+            this.end = end;
+        }
+        
+        public int getPatternIndex() { return patternIndex; }
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+        
+        @Override
+        public String toString() {
+            return "Match{pattern=" + patternIndex + ", start=" + start + ", end=" + end + "}";
+        }
+    }
+    
+    /**
+     * Required literal of a pattern, and the maximum width of the pattern before it
+     */
+    static class Literal {
+        final String text;
+        final int maxPrefix;
+        
+        Literal(String text, int maxPrefix) {
+            this.text = text;
+            this.maxPrefix = maxPrefix;
+        }
+    }
+    
+    private final Pattern[] patterns;
+    private final Literal[] literals;          // null for unfiltered patterns
+    
+    // Aho-Corasick automaton over the distinct literals (ASCII only)
+    private final int[] transitions;          // state * ALPHABET + char -> state
+    private final int[][] outputs;            // state -> literal ids ending here
+    private final String[] literalTexts;      // literal id -> literal
+    private final int[][] literalPatterns;    // literal id -> pattern indices
+    
+    private MultiPatternMatcher(Pattern[] patterns) {
+        this.patterns = patterns;
+        this.literals = new Literal[patterns.length];
+        
+        Map<String, List<Integer>> byLiteral = new HashMap<>();
+        for (int i = 0; i < patterns.length; i++) {
+            literals[i] = requiredLiteral(patterns[i]);
+            if (literals[i] != null) {
+                byLiteral.computeIfAbsent(literals[i].text, k -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        literalTexts = byLiteral.keySet().toArray(new String[0]);
+        literalPatterns = new int[literalTexts.length][];
+        for (int id = 0; id < literalTexts.length; id++) {
+            literalPatterns[id] = byLiteral.get(literalTexts[id]).stream().mapToInt(Integer::intValue).toArray();
+        }
+        
+        // Build the trie
+        int maxStates = 1;
+        for (String literal : literalTexts) {
+            maxStates += literal.length();
+        }
+        
+        int[] trie = new int[maxStates * ALPHABET];
+        Arrays.fill(trie, -1);
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        stateOutputs.add(new ArrayList<>());
+        int states = 1;
+        
+        for (int id = 0; id < literalTexts.length; id++) {
+            int state = 0;
+            for (char c : literalTexts[id].toCharArray()) {
+                int slot = state * ALPHABET + c;
+                if (trie[slot] == -1) {
+                    trie[slot] = states++;
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = trie[slot];
+            }
+            stateOutputs.get(state).add(id);
+        }
+        
+        // Resolve failure links breadth-first into a complete transition table
+        transitions = Arrays.copyOf(trie, states * ALPHABET);
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = transitions[c];
+            if (next == -1) {
+                transitions[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.offer(next);
+            }
+        }
+        
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(fail[state]));
+            
+            for (int c = 0; c < ALPHABET; c++) {
+                int slot = state * ALPHABET + c;
+                int next = transitions[slot];
+                int fallback = transitions[fail[state] * ALPHABET + c];
+                if (next == -1) {
+                    transitions[slot] = fallback;
+                } else {
+                    fail[next] = fallback;
+                    queue.offer(next);
+                }
+            }
+        }
+        
+        outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            outputs[state] = stateOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+    
+    /**
+     * Compiles a set of regex patterns, reusing PatternMatcher's pattern cache
+     * 
+     * @param regexes the patterns
+     * @return the multi-pattern matcher
+     */
+    public static MultiPatternMatcher compile(String... regexes) {
+        Pattern[] compiled = new Pattern[regexes.length];
+        for (int i = 0; i < regexes.length; i++) {
+            compiled[i] = PatternMatcher.getPatternCache().get(regexes[i]);
+        }
+        return new MultiPatternMatcher(compiled);
+    }
+    
+    /**
+     * Builds a multi-pattern matcher from compiled patterns
+     * 
+     * @param patterns the patterns
+     * @return the multi-pattern matcher
+     */
+    public static MultiPatternMatcher compile(List<Pattern> patterns) {
+        return new MultiPatternMatcher(patterns.toArray(new Pattern[0]));
+    }
+    
+    /**
+     * Finds the matches of all patterns in one pass over the text
+     * 
+     * @param text the text to search in
+     * @return the matches ordered by start position, then pattern index
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        if (text == null) {
+            return matches;
+        }
+        
+        int[][] hits = scan(text);
+        for (int i = 0; i < patterns.length; i++) {
+            evaluate(i, text, hits[i], matches, false);
+        }
+        
+        matches.sort((a, b) -> a.start != b.start ? Integer.compare(a.start, b.start)
+                : Integer.compare(a.patternIndex, b.patternIndex));
+        return matches;
+    }
+    
+    /**
+     * Returns which patterns have at least one match in the text
+     * 
+     * @param text the text to search in
+     * @return the set of matching pattern indices
+     */
+    public BitSet matchingPatterns(CharSequence text) {
+        BitSet matched = new BitSet(patterns.length);
+        if (text == null) {
+            return matched;
+        }
+        
+        int[][] hits = scan(text);
+        List<Match> found = new ArrayList<>(1);
+        for (int i = 0; i < patterns.length; i++) {
+            found.clear();
+            evaluate(i, text, hits[i], found, true);
+            if (!found.isEmpty()) {
+                matched.set(i);
+            }
+        }
+        
+        return matched;
+    }
+    
+    /**
+     * Runs the automaton over the text and collects, per pattern, the start offsets of its
+     * literal's occurrences; unfiltered patterns get null
+     */
+    private int[][] scan(CharSequence text) {
+        int[][] hits = new int[patterns.length][];
+        int[] counts = new int[patterns.length];
+        
+        for (int i = 0; i < patterns.length; i++) {
+            hits[i] = literals[i] == null ? null : new int[0];
+        }
+        
+        int state = 0;
+        for (int pos = 0; pos < text.length(); pos++) {
+            char c = text.charAt(pos);
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            
+            for (int id : outputs[state]) {
+                int start = pos - literalTexts[id].length() + 1;
+                for (int p : literalPatterns[id]) {
+                    if (counts[p] == hits[p].length) {
+                        hits[p] = Arrays.copyOf(hits[p], Math.max(8, counts[p] * 2));
+                    }
+                    hits[p][counts[p]++] = start;
+                }
+            }
+        }
+        
+        for (int i = 0; i < patterns.length; i++) {
+            if (hits[i] != null) {
+                hits[i] = Arrays.copyOf(hits[i], counts[i]);
+            }
+        }
+        
+        return hits;
+    }
+    
+    private void evaluate(int index, CharSequence text, int[] hits, List<Match> matches, boolean firstOnly) {
+        Matcher m = patterns[index].matcher(text);
+        
+        if (hits == null) {
+            // Unfiltered: plain search
+            while (m.find()) {
+                matches.add(new Match(index, m.start(), m.end()));
+                if (firstOnly) {
+                    return;
+                }
+            }
+            return;
+        }
+        
+        if (hits.length == 0) {
+            return; // The required literal never occurs
+        }
+        
+        int maxPrefix = literals[index].maxPrefix;
+        
+        if (maxPrefix == UNBOUNDED) {
+            // Search normally, but stop once no literal occurrence is left after the last match
+            int h = 0;
+            while (h < hits.length && m.find()) {
+                matches.add(new Match(index, m.start(), m.end()));
+                if (firstOnly) {
+                    return;
+                }
+                int next = m.end() == m.start() ? m.end() + 1 : m.end();
+                while (h < hits.length && hits[h] < next) {
+                    h++;
+                }
+            }
+            return;
+        }
+        
+        // Bounded prefix: a match containing a hit at p starts in [p - maxPrefix, p]
+        m.useTransparentBounds(true);
+        m.useAnchoringBounds(false);
+        
+        int nextStart = 0;
+        for (int hit : hits) {
+            int from = Math.max(nextStart, hit - maxPrefix);
+            for (int s = from; s <= hit; s++) {
+                m.region(s, text.length());
+                if (m.lookingAt()) {
+                    matches.add(new Match(index, m.start(), m.end()));
+                    if (firstOnly) {
+                        return;
+                    }
+                    nextStart = m.end() == m.start() ? m.end() + 1 : m.end();
+                    break;
+                }
+                nextStart = s + 1;
+            }
+        }
+    }
+    
+    /**
+     * Extracts the longest literal every match of the pattern must contain
+     */
+    static Literal requiredLiteral(Pattern pattern) {
+        int unsupportedFlags = Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.CANON_EQ | Pattern.UNICODE_CASE;
+        if ((pattern.flags() & unsupportedFlags) != 0) {
+            return null;
+        }
+        if ((pattern.flags() & Pattern.LITERAL) != 0) {
+            return asciiOnly(pattern.pattern()) ? new Literal(pattern.pattern(), 0) : null;
+        }
+        return requiredLiteral(pattern.pattern());
+    }
+    
+    static Literal requiredLiteral(String regex) {
+        int n = regex.length();
+        StringBuilder run = new StringBuilder();
+        int runPrefix = 0;      // Maximum width before the current run
+        int width = 0;          // Maximum width consumed so far at top level
+        String best = null;
+        int bestPrefix = 0;
+        int depth = 0;
+        int i = 0;
+        
+        while (i < n) {
+            char c = regex.charAt(i);
+            int atomWidth = 1;
+            int literal = -1;
+            
+            if (c == '\\') {
+                if (i + 1 >= n) {
+                    return null;
+                }
+                char e = regex.charAt(i + 1);
+                if (e == 'Q') {
+                    return null; // Quoted sections are not analysed
+                }
+                i += 2;
+                
+                if (!Character.isLetterOrDigit(e)) {
+                    literal = e;
+                } else {
+                    switch (e) {
+                        case 't': literal = '\t'; break;
+                        case 'n': literal = '\n'; break;
+                        case 'r': literal = '\r'; break;
+                        case 'f': literal = '\f'; break;
+                        case 'a': literal = '\u0007'; break;
+                        case 'e': literal = '\u001B'; break;
+                        case 'b': case 'B': case 'A': case 'z': case 'Z': case 'G':
+                            atomWidth = 0; break;
+                        case 'R': case 'X':
+                            atomWidth = UNBOUNDED; break;
+                        case 'p': case 'P': case 'N':
+                            i = skipBraced(regex, i, 1);
+                            atomWidth = CODE_POINT_WIDTH;
+                            break;
+                        case 'x':
+                            i = skipBraced(regex, i, 2);
+                            atomWidth = CODE_POINT_WIDTH;
+                            break;
+                        case 'u':
+                            i = Math.min(n, i + 4); break;
+                        case 'c':
+                            i = Math.min(n, i + 1); break;
+                        case 'k':
+                            while (i < n && regex.charAt(i) != '>') {
+                                i++;
+                            }
+                            i++;
+                            atomWidth = UNBOUNDED;
+                            break;
+                        case '0':
+                            for (int k = 0; k < 3 && i < n && regex.charAt(i) >= '0' && regex.charAt(i) <= '7'; k++) {
+                                i++;
+                            }
+                            break;
+                        default:
+                            if (Character.isDigit(e)) {
+                                // Backreference
+                                while (i < n && Character.isDigit(regex.charAt(i))) {
+                                    i++;
+                                }
+                                atomWidth = UNBOUNDED;
+                            } else {
+                                // A class escape such as \d, \w, \S matches one code point
+                                atomWidth = CODE_POINT_WIDTH;
+                            }
+                            break;
+                    }
+                }
+            } else if (c == '[') {
+                i = skipClass(regex, i);
+                atomWidth = CODE_POINT_WIDTH;
+            } else if (c == '(') {
+                if (i + 2 < n && regex.charAt(i + 1) == '?' && isFlag(regex.charAt(i + 2))) {
+                    return null; // Inline flags may change case sensitivity
+                }
+                depth++;
+                i++;
+                // Group widths are not tracked
+                width = UNBOUNDED;
+                if (run.length() > 0 && (best == null || run.length() > best.length())) {
+                    best = run.toString();
+                    bestPrefix = runPrefix;
+                }
+                run.setLength(0);
+                continue;
+            } else if (c == ')') {
+                depth--;
+                i++;
+                i = skipQuantifier(regex, i);
+                continue;
+            } else if (c == '|') {
+                if (depth == 0) {
+                    return null; // Top-level alternation: no literal is required
+                }
+                i++;
+                continue;
+            } else if (c == '^' || c == '$') {
+                atomWidth = 0;
+                i++;
+            } else if (c == '.') {
+                atomWidth = CODE_POINT_WIDTH;
+                i++;
+            } else {
+                literal = c;
+                i++;
+            }
+            
+            if (depth > 0) {
+                i = skipQuantifier(regex, i);
+                continue;
+            }
+            
+            // Quantifier on this atom
+            int minRepeat = 1;
+            int maxRepeat = 1;
+            if (i < n && (regex.charAt(i) == '?' || regex.charAt(i) == '*' || regex.charAt(i) == '+' || regex.charAt(i) == '{')) {
+                char q = regex.charAt(i);
+                if (q == '{') {
+                    int close = regex.indexOf('}', i);
+                    String[] bounds = regex.substring(i + 1, close).split(",", -1);
+                    minRepeat = Integer.parseInt(bounds[0].trim());
+                    maxRepeat = bounds.length == 1 ? minRepeat
+                            : bounds[1].trim().isEmpty() ? UNBOUNDED : Integer.parseInt(bounds[1].trim());
+                } else {
+                    minRepeat = q == '+' ? 1 : 0;
+                    maxRepeat = q == '?' ? 1 : UNBOUNDED;
+                }
+                i = skipQuantifier(regex, i);
+            }
+            
+            boolean required = literal >= 0 && literal < ALPHABET && minRepeat >= 1;
+            
+            if (required) {
+                if (run.length() == 0) {
+                    runPrefix = width;
+                }
+                run.append((char) literal);
+            }
+            
+            if (!required || maxRepeat != 1) {
+                // The run cannot continue past an optional, repeated or non-literal atom
+                if (run.length() > 0 && (best == null || run.length() > best.length())) {
+                    best = run.toString();
+                    bestPrefix = runPrefix;
+                }
+                run.setLength(0);
+            }
+            
+            width = addWidth(width, atomWidth, maxRepeat);
+        }
+        
+        if (run.length() > 0 && (best == null || run.length() > best.length())) {
+            best = run.toString();
+            bestPrefix = runPrefix;
+        }
+        
+        return best == null ? null : new Literal(best, bestPrefix);
+    }
+    
+    private static int addWidth(int width, int atomWidth, int maxRepeat) {
+        if (width == UNBOUNDED || atomWidth == UNBOUNDED || (maxRepeat == UNBOUNDED && atomWidth > 0)) {
+            return UNBOUNDED;
+        }
+        long total = (long) width + (long) atomWidth * maxRepeat;
+        return total >= UNBOUNDED ? UNBOUNDED : (int) total;
+    }
+    
+    private static boolean isFlag(char c) {
+        return "idmsuxU-".indexOf(c) >= 0;
+    }
+    
+    private static boolean asciiOnly(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= ALPHABET) {
+                return false;
+            }
+        }
+        return !s.isEmpty();
+    }
+    
+    // Skips "{...}" if present, otherwise the given number of characters
+    private static int skipBraced(String regex, int i, int otherwise) {
+        if (i < regex.length() && regex.charAt(i) == '{') {
+            int close = regex.indexOf('}', i);
+            return close < 0 ? regex.length() : close + 1;
+        }
+        return Math.min(regex.length(), i + otherwise);
+    }
+    
+    // Skips a character class starting at '[', including nested classes and escapes
+    private static int skipClass(String regex, int i) {
+        int depth = 0;
+        int n = regex.length();
+        
+        while (i < n) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // A ']' right after '[' or '[^' is a literal member
+                if (i + 1 < n && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < n && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        
+        return n;
+    }
+    
+    // Skips a quantifier and its lazy/possessive suffix, if present
+    private static int skipQuantifier(String regex, int i) {
+        int n = regex.length();
+        if (i >= n) {
+            return i;
+        }
+        
+        char q = regex.charAt(i);
+        if (q == '?' || q == '*' || q == '+') {
+            i++;
+        } else if (q == '{') {
+            int close = regex.indexOf('}', i);
+            i = close < 0 ? n : close + 1;
+        } else {
+            return i;
+        }
+        
+        if (i < n && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            i++;
+        }
+        return i;
+    }
+    
+    /**
+     * @return the literal used to prefilter a pattern, or null if it always runs in full
+     */
+    public String getRequiredLiteral(int patternIndex) {
+        Literal literal = literals[patternIndex];
+        return literal == null ? null : literal.text;
+    }
+    
+    public int size() {
+        return patterns.length;
+    }
+    
+    public static void main(String[] args) {
+        String[] regexes = {
+            "ERROR \\d+",
+            "user=(\\w+)",
+            "timeout after \\d+ms",
+            "\\b\\w+@example\\.com\\b",
+            "(?i)warn",
+            "GET|POST"
+        };
+        
+        MultiPatternMatcher matcher = compile(regexes);
+        
+        System.out.println("=== REQUIRED LITERALS ===");
+        for (int i = 0; i < regexes.length; i++) {
+            System.out.println("   " + regexes[i] + " -> " + matcher.getRequiredLiteral(i));
+        }
+        
+        String text = "INFO user=alice GET /index\n"
+                + "ERROR 503 timeout after 250ms for bob@example.com\n"
+                + "Warn: POST /upload slow, user=carol\n";
+        
+        System.out.println("\n=== MATCHES ===");
+        for (Match match : matcher.findAll(text)) {
+            System.out.println("   " + regexes[match.getPatternIndex()] + " at [" + match.getStart() + ", "
+                    + match.getEnd() + "): " + text.substring(match.getStart(), match.getEnd()));
+        }
+        System.out.println("Matching patterns: " + matcher.matchingPatterns(text));
+        
+        // Compare with one scan per pattern on a larger text
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            sb.append("INFO request ").append(i).append(" served in ").append(i % 97).append("ms\n");
+            if (i % 1000 == 0) {
+                sb.append("ERROR ").append(i).append(" timeout after 30000ms user=svc\n");
+            }
+        }
+        String large = sb.toString();
+        String[] literalHeavy = {
+            "ERROR \\d+", "timeout after \\d+ms", "user=(\\w+)", "FATAL \\w+", "OutOfMemoryError",
+            "connection reset by peer", "deadlock detected", "retrying in \\d+s", "SELECT \\* FROM \\w+"
+        };
+        MultiPatternMatcher multi = compile(literalHeavy);
+        
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int separate = 0;
+            for (String regex : literalHeavy) {
+                separate += PatternMatcher.findAll(large, regex).size();
+            }
+            long separateNanos = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            int combined = multi.findAll(large).size();
+            long combinedNanos = System.nanoTime() - start;
+            
+            System.out.println("\nRound " + round + ": one scan per pattern " + separate + " matches in "
+                    + separateNanos / 1_000_000 + " ms, multi-pattern " + combined + " matches in "
+                    + combinedNanos / 1_000_000 + " ms");
+        }
+    }
+}
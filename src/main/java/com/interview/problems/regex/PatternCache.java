@@ -0,0 +1,168 @@
+package com.interview.problems.regex;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Concurrent, size-bounded cache of compiled patterns
+ * 
+ * Lookups are a ConcurrentHashMap get plus a reference bit, so hits never block. Entries also
+ * sit in a fixed ring of capacity slots with a clock hand that persists across misses. When
+ * the cache is full, a miss advances the hand CLOCK (second-chance) style: entries used since
+ * the hand last passed lose their reference bit, and the first unreferenced one is replaced
+ * by the new entry. The hand then moves past the new entry, so it gets a full revolution
+ * before it is examined. Recently used patterns survive without the global lock that an
+ * access-ordered LinkedHashMap takes on every hit; only misses take a lock.
+ * 
+ * Time Complexity: O(1) per hit, O(pattern length) to compile on a miss, amortized O(1) eviction
+ * Space Complexity: O(capacity)
+ */
+public class PatternCache {
+    
+    public static final int DEFAULT_CAPACITY = 512;
+    
+    private static class Entry {
+        final String regex;
+        final Pattern pattern;
+        volatile boolean referenced;
+        
+        Entry(String regex, Pattern pattern) {
+            this.regex = regex;
+            this.pattern = pattern;
+        }
+    }
+    
+    private final int capacity;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    // Clock ring and hand, guarded by insertLock
+    private final ReentrantLock insertLock = new ReentrantLock();
+    private final Entry[] ring;
+    private int used;
+    private int hand;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public PatternCache() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public PatternCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ring = new Entry[capacity];
+    }
+    
+    /**
+     * Returns the compiled pattern for a regex, compiling and caching it on a miss
+     * 
+     * @param regex the regex to compile
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the regex is invalid (nothing is cached)
+     */
+    public Pattern get(String regex) {
+        Entry entry = entries.get(regex);
+        
+        if (entry != null) {
+            hits.increment();
+            if (!entry.referenced) {
+                entry.referenced = true; // Only write when needed to keep hot entries' cache lines shared
+            }
+            return entry.pattern;
+        }
+        
+        misses.increment();
+        Entry created = new Entry(regex, Pattern.compile(regex)); // Compile outside the lock
+        
+        insertLock.lock();
+        try {
+            Entry existing = entries.get(regex);
+            if (existing != null) {
+                return existing.pattern; // Another thread compiled it first
+            }
+            
+            if (used < capacity) {
+                ring[used++] = created;
+            } else {
+                // Second chance: clear reference bits until an unreferenced entry is under the
+                // hand (at most one revolution, after which every bit is clear)
+                while (ring[hand].referenced) {
+                    ring[hand].referenced = false;
+                    hand = (hand + 1) % capacity;
+                }
+                entries.remove(ring[hand].regex);
+                evictions.increment();
+                
+                ring[hand] = created;
+                hand = (hand + 1) % capacity;
+            }
+            
+            entries.put(regex, created);
+            return created.pattern;
+        } finally {
+            insertLock.unlock();
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * @return the fraction of lookups served from the cache, or 0 if there were none
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+    
+    /**
+     * Removes all patterns and resets the statistics
+     */
+    public void clear() {
+        insertLock.lock();
+        try {
+            entries.clear();
+            Arrays.fill(ring, null);
+            used = 0;
+            hand = 0;
+        } finally {
+            insertLock.unlock();
+        }
+        
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PatternCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f%%}",
+                size(), capacity, getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+    }
+}
@@ -26,6 +26,18 @@ import java.util.regex.Pattern;
  */
 public class PatternMatcher {
     
+    // Compiled patterns shared by all String-pattern methods
+    private static final PatternCache PATTERN_CACHE = new PatternCache();
+    
+    /**
+     * Returns the cache behind the String-pattern methods, e.g. to read its hit rate
+     * 
+     * @return the shared pattern cache
+     */
+    public static PatternCache getPatternCache() {
+        return PATTERN_CACHE;
+    }
+    
     /**
      * Checks if a string matches a given pattern
      * 
@@ -38,7 +50,22 @@ public class PatternMatcher {
             return false;
         }
         
-        return Pattern.matches(pattern, text);
+        return matchesCompiled(text, PATTERN_CACHE.get(pattern));
+    }
+    
+    /**
+     * Checks if a string matches a compiled pattern
+     * 
+     * @param text the text to check
+     * @param pattern the compiled pattern to match
+     * @return true if the text matches the pattern, false otherwise
+     */
+    public static boolean matchesCompiled(String text, Pattern pattern) {
+        if (text == null || pattern == null) {
+            return false;
+        }
+        
+        return pattern.matcher(text).matches();
     }
     
     /**
@@ -53,9 +80,23 @@ public class PatternMatcher {
             return new ArrayList<>();
         }
         
+        return findAllCompiled(text, PATTERN_CACHE.get(pattern));
+    }
+    
+    /**
+     * Finds all occurrences of a compiled pattern in a text
+     * 
+     * @param text the text to search in
+     * @param pattern the compiled pattern to find
+     * @return a list of matched strings
+     */
+    public static List<String> findAllCompiled(String text, Pattern pattern) {
+        if (text == null || pattern == null) {
+            return new ArrayList<>();
+        }
+        
         List<String> matches = new ArrayList<>();
-        Pattern p = Pattern.compile(pattern);
-        Matcher m = p.matcher(text);
+        Matcher m = pattern.matcher(text);
         
         while (m.find()) {
             matches.add(m.group());
@@ -76,9 +117,23 @@ public class PatternMatcher {
             return new ArrayList<>();
         }
         
+        return extractGroupsCompiled(text, PATTERN_CACHE.get(pattern));
+    }
+    
+    /**
+     * Extracts capturing groups from compiled pattern matches
+     * 
+     * @param text the text to search in
+     * @param pattern the compiled pattern with capturing groups
+     * @return a list of arrays containing the groups for each match
+     */
+    public static List<String[]> extractGroupsCompiled(String text, Pattern pattern) {
+        if (text == null || pattern == null) {
+            return new ArrayList<>();
+        }
+        
         List<String[]> results = new ArrayList<>();
-        Pattern p = Pattern.compile(pattern);
-        Matcher m = p.matcher(text);
+        Matcher m = pattern.matcher(text);
         
         while (m.find()) {
             String[] groups = new String[m.groupCount() + 1];
@@ -104,9 +159,24 @@ public class PatternMatcher {
             return new ArrayList<>();
         }
         
+        return extractNamedGroupsCompiled(text, PATTERN_CACHE.get(pattern), groupNames);
+    }
+    
+    /**
+     * Extracts named groups from compiled pattern matches
+     * 
+     * @param text the text to search in
+     * @param pattern the compiled pattern with named groups
+     * @param groupNames the names of the groups to extract
+     * @return a list of maps containing the named groups for each match
+     */
+    public static List<Map<String, String>> extractNamedGroupsCompiled(String text, Pattern pattern, String[] groupNames) {
+        if (text == null || pattern == null || groupNames == null) {
+            return new ArrayList<>();
+        }
+        
         List<Map<String, String>> results = new ArrayList<>();
-        Pattern p = Pattern.compile(pattern);
-        Matcher m = p.matcher(text);
+        Matcher m = pattern.matcher(text);
         
         while (m.find()) {
             Map<String, String> groupMap = new HashMap<>();
@@ -137,7 +207,23 @@ public class PatternMatcher {
             return text;
         }
         
-        return text.replaceAll(pattern, replacement);
+        return replaceAllCompiled(text, PATTERN_CACHE.get(pattern), replacement);
+    }
+    
+    /**
+     * Replaces all occurrences of a compiled pattern with a replacement string
+     * 
+     * @param text the text to perform replacements in
+     * @param pattern the compiled pattern to replace
+     * @param replacement the replacement string
+     * @return the text with replacements
+     */
+    public static String replaceAllCompiled(String text, Pattern pattern, String replacement) {
+        if (text == null || pattern == null || replacement == null) {
+            return text;
+        }
+        
+        return pattern.matcher(text).replaceAll(replacement);
     }
     
     /**
@@ -152,8 +238,22 @@ public class PatternMatcher {
             return text;
         }
         
-        Pattern p = Pattern.compile(pattern);
-        Matcher m = p.matcher(text);
+        return replaceWithFunctionCompiled(text, PATTERN_CACHE.get(pattern));
+    }
+    
+    /**
+     * Replaces compiled pattern matches with a dynamically generated replacement
+     * 
+     * @param text the text to perform replacements in
+     * @param pattern the compiled pattern to replace
+     * @return the text with replacements
+     */
+    public static String replaceWithFunctionCompiled(String text, Pattern pattern) {
+        if (text == null || pattern == null) {
+            return text;
+        }
+        
+        Matcher m = pattern.matcher(text);
         StringBuffer result = new StringBuffer();
         
         while (m.find()) {
@@ -285,5 +385,8 @@ public class PatternMatcher {
     
     public static void main(String[] args) {
         demonstratePatterns();
+        
+        System.out.println("\n=== PATTERN CACHE ===");
+        System.out.println(getPatternCache());
     }
 }
\ No newline at end of file
@@ -0,0 +1,492 @@
+package com.interview.problems.regex;
+
+import com.interview.problems.regex.LogFileParser.FormatDetector;
+import com.interview.problems.regex.LogFileParser.LogEntry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Sparse time index for log files
+ * 
+ * Every N lines the index records the byte offset of the line starting a block, plus the
+ * smallest and largest timestamp inside the block. Logs are nearly time-ordered, so the
+ * running maximum and the trailing minimum of these block bounds are monotone, and binary
+ * search over them gives the exact range of blocks that can hold entries between T1 and T2.
+ * Only those blocks are memory-mapped and parsed; out-of-order lines stay correct because
+ * the bounds cover every timestamp in a block.
+ * 
+ * The index can be saved to and loaded from a sidecar file next to the log. The sidecar
+ * records the size, modification time and a checksum of the start of the log, so a rotated or
+ * rewritten log is reindexed even when its size happens to match.
+ * 
+ * Time Complexity: O(n) to build, O(log b + k * N) per query where b is the number of blocks
+ *                  and k the number of blocks overlapping the range
+ * Space Complexity: O(b) = O(n / N)
+ */
+public class TimeRangeIndex {
+    
+    public static final int DEFAULT_LINES_PER_BLOCK = 1024;
+    
+    private static final String SIDECAR_SUFFIX = ".tidx";
+    private static final int MAGIC = 0x54494458; // "TIDX"
+    private static final int VERSION = 2;
+    
+    // Sidecar layout: magic, version, linesPerBlock, fileSize, lastModified, headChecksum, block count,
+    // then offset, min and max per block
+    private static final int HEADER_BYTES = 3 * 4 + 3 * 8 + 4;
+    private static final int BLOCK_BYTES = 3 * 8;
+    
+    // Bytes at the start of the log covered by the sidecar checksum
+    private static final int HEAD_CHECK_BYTES = 1 << 16;
+    
+    // Largest region mapped at once; windows are cut at line boundaries
+    private static final int MAX_WINDOW = 1 << 28;
+    
+    private final int linesPerBlock;
+    private final long fileSize;
+    private final long lastModified;  // Millis, 0 if unknown
+    private final long headChecksum;  // CRC32 of the first HEAD_CHECK_BYTES, 0 if unknown
+    private final long[] blockOffsets;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    
+    // Running max of blockMax and trailing min of blockMin, both non-decreasing
+    private final long[] prefixMax;
+    private final long[] suffixMin;
+    
+    private TimeRangeIndex(int linesPerBlock, long fileSize, long lastModified, long headChecksum,
+                           long[] blockOffsets, long[] blockMin, long[] blockMax) {
+        this.linesPerBlock = linesPerBlock;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.headChecksum = headChecksum;
+        this.blockOffsets = blockOffsets;
+        this.blockMin = blockMin;
+        this.blockMax = blockMax;
+        
+        int blocks = blockOffsets.length;
+        this.prefixMax = new long[blocks];
+        this.suffixMin = new long[blocks];
+        
+        long max = Long.MIN_VALUE;
+        for (int b = 0; b < blocks; b++) {
+            max = Math.max(max, blockMax[b]);
+            prefixMax[b] = max;
+        }
+        
+        long min = Long.MAX_VALUE;
+        for (int b = blocks - 1; b >= 0; b--) {
+            min = Math.min(min, blockMin[b]);
+            suffixMin[b] = min;
+        }
+    }
+    
+    /**
+     * Collects block bounds while a file is parsed line by line
+     */
+    public static class Builder {
+        private final int linesPerBlock;
+        private long[] offsets = new long[64];
+        private long[] mins = new long[64];
+        private long[] maxs = new long[64];
+        private int blocks;
+        private long lines;
+        
+        public Builder(int linesPerBlock) {
+            if (linesPerBlock <= 0) {
+                throw new IllegalArgumentException("linesPerBlock must be positive");
+            }
+            this.linesPerBlock = linesPerBlock;
+        }
+        
+        /**
+         * Records one line
+         * 
+         * @param offset the byte offset of the start of the line
+         * @param timestamp the parsed timestamp of the line, or null if it has none
+         */
+        public void addLine(long offset, LocalDateTime timestamp) {
+            if (lines % linesPerBlock == 0) {
+                if (blocks == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, blocks * 2);
+                    mins = Arrays.copyOf(mins, blocks * 2);
+                    maxs = Arrays.copyOf(maxs, blocks * 2);
+                }
+                offsets[blocks] = offset;
+                mins[blocks] = Long.MAX_VALUE;
+                maxs[blocks] = Long.MIN_VALUE;
+                blocks++;
+            }
+            
+            if (timestamp != null) {
+                long millis = toMillis(timestamp);
+                int b = blocks - 1;
+                mins[b] = Math.min(mins[b], millis);
+                maxs[b] = Math.max(maxs[b], millis);
+            }
+            
+            lines++;
+        }
+        
+        public TimeRangeIndex build(long fileSize) {
+            return build(fileSize, 0, 0);
+        }
+        
+        /**
+         * Builds the index with the file fingerprint that open() checks before trusting a sidecar
+         * 
+         * @param fileSize the size of the indexed file
+         * @param lastModified the modification time of the file in millis
+         * @param headChecksum the CRC32 of the first HEAD_CHECK_BYTES bytes of the file
+         */
+        public TimeRangeIndex build(long fileSize, long lastModified, long headChecksum) {
+            return new TimeRangeIndex(linesPerBlock, fileSize, lastModified, headChecksum,
+                    Arrays.copyOf(offsets, blocks), Arrays.copyOf(mins, blocks), Arrays.copyOf(maxs, blocks));
+        }
+    }
+    
+    /**
+     * Callback for lines read from a mapped region
+     */
+    private interface LineHandler {
+        void line(long offset, String line);
+    }
+    
+    /**
+     * Parses a log file and builds its time index
+     * 
+     * @param logFile the log file
+     * @param linesPerBlock the number of lines per index entry
+     * @return the index
+     */
+    public static TimeRangeIndex build(Path logFile, int linesPerBlock) throws IOException {
+        Builder builder = new Builder(linesPerBlock);
+        
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lastModified = Files.getLastModifiedTime(logFile).toMillis();
+            long checksum = headChecksum(channel, size);
+            
+            FormatDetector detector = new FormatDetector();
+            forEachLine(channel, 0, size, (offset, line) -> {
+                LogEntry entry = detector.parse(line);
+                builder.addLine(offset, entry == null ? null : entry.getTimestamp());
+            });
+            return builder.build(size, lastModified, checksum);
+        }
+    }
+    
+    /**
+     * Loads the sidecar index of a log file, rebuilding and saving it if it is missing, corrupt,
+     * stale (size, modification time or head checksum differ) or uses another block size
+     * 
+     * @param logFile the log file
+     * @param linesPerBlock the number of lines per index entry
+     * @return the index
+     */
+    public static TimeRangeIndex open(Path logFile, int linesPerBlock) throws IOException {
+        Path sidecar = sidecarPath(logFile);
+        
+        if (Files.exists(sidecar)) {
+            TimeRangeIndex index = null;
+            try {
+                index = read(sidecar);
+            } catch (IOException e) {
+                // Corrupt or truncated sidecar; rebuild below
+            }
+            
+            if (index != null && index.linesPerBlock == linesPerBlock && index.matches(logFile)) {
+                return index;
+            }
+        }
+        
+        TimeRangeIndex index = build(logFile, linesPerBlock);
+        index.write(sidecar);
+        return index;
+    }
+    
+    /**
+     * Checks that the log file still has the size, modification time and head checksum it had
+     * when the index was built
+     */
+    private boolean matches(Path logFile) throws IOException {
+        if (lastModified == 0 || Files.getLastModifiedTime(logFile).toMillis() != lastModified) {
+            return false;
+        }
+        
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return size == fileSize && headChecksum(channel, size) == headChecksum;
+        }
+    }
+    
+    private static long headChecksum(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, HEAD_CHECK_BYTES));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return crc.getValue();
+    }
+    
+    public static Path sidecarPath(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + SIDECAR_SUFFIX);
+    }
+    
+    /**
+     * Saves the index to a sidecar file
+     */
+    public void write(Path sidecar) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(sidecar)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(linesPerBlock);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeLong(headChecksum);
+            out.writeInt(blockOffsets.length);
+            
+            for (int b = 0; b < blockOffsets.length; b++) {
+                out.writeLong(blockOffsets[b]);
+                out.writeLong(blockMin[b]);
+                out.writeLong(blockMax[b]);
+            }
+        }
+    }
+    
+    /**
+     * Loads an index from a sidecar file
+     * 
+     * @throws IOException if the file is not a time index, or its header or block offsets are
+     *         inconsistent (the block count must fit the file, offsets must increase and stay
+     *         below the indexed size)
+     */
+    public static TimeRangeIndex read(Path sidecar) throws IOException {
+        long sidecarSize = Files.size(sidecar);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a time index file: " + sidecar);
+            }
+            
+            int linesPerBlock = in.readInt();
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            long headChecksum = in.readLong();
+            int blocks = in.readInt();
+            // Check the count against the bytes actually present before allocating for it
+            if (linesPerBlock <= 0 || fileSize < 0 || blocks < 0 || blocks > fileSize
+                    || blocks > (sidecarSize - HEADER_BYTES) / BLOCK_BYTES) {
+                throw new IOException("Corrupt time index file: " + sidecar);
+            }
+            
+            long[] offsets = new long[blocks];
+            long[] mins = new long[blocks];
+            long[] maxs = new long[blocks];
+            
+            for (int b = 0; b < blocks; b++) {
+                offsets[b] = in.readLong();
+                mins[b] = in.readLong();
+                maxs[b] = in.readLong();
+                
+                // Every block starts at a line, and lines start at distinct offsets inside the file
+                if (offsets[b] < 0 || offsets[b] >= fileSize || (b > 0 && offsets[b] <= offsets[b - 1])) {
+                    throw new IOException("Corrupt block offset in time index file: " + sidecar);
+                }
+            }
+            
+            return new TimeRangeIndex(linesPerBlock, fileSize, lastModified, headChecksum, offsets, mins, maxs);
+        }
+    }
+    
+    /**
+     * Returns the entries with a timestamp in [from, to), reading only the blocks that can hold them
+     * 
+     * @param logFile the log file this index was built for
+     * @param from the inclusive lower bound
+     * @param to the exclusive upper bound
+     * @return the matching entries in file order
+     * @throws IOException if the log file is now smaller than when it was indexed
+     */
+    public List<LogEntry> query(Path logFile, LocalDateTime from, LocalDateTime to) throws IOException {
+        List<LogEntry> result = new ArrayList<>();
+        
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        int[] blocks = blockRange(fromMillis, toMillis);
+        
+        if (blocks[0] >= blocks[1]) {
+            return result;
+        }
+        
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (channel.size() < fileSize) {
+                throw new IOException("Log file is smaller than when it was indexed (truncated or rotated): " + logFile);
+            }
+            
+            long start = blockOffsets[blocks[0]];
+            long end = blocks[1] < blockOffsets.length ? blockOffsets[blocks[1]] : Math.min(fileSize, channel.size());
+            
+            FormatDetector detector = new FormatDetector();
+            forEachLine(channel, start, end, (offset, line) -> {
+                LogEntry entry = detector.parse(line);
+                if (entry != null && entry.getTimestamp() != null) {
+                    long millis = toMillis(entry.getTimestamp());
+                    if (millis >= fromMillis && millis < toMillis) {
+                        result.add(entry);
+                    }
+                }
+            });
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Returns the block range [first, last) that may hold timestamps in [fromMillis, toMillis)
+     */
+    int[] blockRange(long fromMillis, long toMillis) {
+        // First block whose running max reaches fromMillis; every earlier block ends before it
+        int first = firstAtLeast(prefixMax, fromMillis);
+        // First block whose trailing min reaches toMillis; it and every later block start after it
+        int last = firstAtLeast(suffixMin, toMillis);
+        return new int[] {first, Math.max(first, last)};
+    }
+    
+    private static int firstAtLeast(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        
+        return low;
+    }
+    
+    /**
+     * Reads lines in [start, end) from a channel through memory-mapped windows
+     */
+    private static void forEachLine(FileChannel channel, long start, long end, LineHandler handler) throws IOException {
+        long windowStart = start;
+        byte[] lineBuffer = new byte[256];
+        
+        while (windowStart < end) {
+            long windowSize = Math.min(end - windowStart, MAX_WINDOW);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            boolean lastWindow = windowStart + windowSize >= end;
+            
+            int limit = (int) windowSize;
+            if (!lastWindow) {
+                // Cut the window after its last complete line
+                while (limit > 0 && buffer.get(limit - 1) != '\n') {
+                    limit--;
+                }
+                if (limit == 0) {
+                    throw new IOException("Line longer than " + MAX_WINDOW + " bytes at offset " + windowStart);
+                }
+            }
+            
+            int lineStart = 0;
+            for (int i = 0; i <= limit; i++) {
+                if (i == limit || buffer.get(i) == '\n') {
+                    if (i == limit && (i == lineStart || !lastWindow)) {
+                        break;
+                    }
+                    
+                    int lineEnd = i;
+                    if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                        lineEnd--;
+                    }
+                    
+                    int length = lineEnd - lineStart;
+                    if (length > lineBuffer.length) {
+                        lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+                    }
+                    buffer.get(lineStart, lineBuffer, 0, length);
+                    
+                    handler.line(windowStart + lineStart, new String(lineBuffer, 0, length, StandardCharsets.UTF_8));
+                    lineStart = i + 1;
+                }
+            }
+            
+            windowStart += limit;
+        }
+    }
+    
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+    
+    public int getLinesPerBlock() {
+        return linesPerBlock;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path logFile = Files.createTempFile("app", ".log");
+        logFile.toFile().deleteOnExit();
+        sidecarPath(logFile).toFile().deleteOnExit();
+        
+        // One line per second, with an occasional line written slightly out of order
+        int lines = 100_000;
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+        LocalDateTime base = LocalDateTime.of(2023, 5, 15, 0, 0);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            LocalDateTime ts = base.plusSeconds(i % 100 == 99 ? i - 5 : i);
+            sb.append(ts.format(formatter))
+              .append(i % 10 == 0 ? " ERROR" : " INFO").append(" [application] - Request ").append(i).append(" handled\n");
+        }
+        Files.write(logFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+        
+        long start = System.nanoTime();
+        TimeRangeIndex index = open(logFile, DEFAULT_LINES_PER_BLOCK);
+        System.out.println("=== TIME INDEX ===");
+        System.out.println("Blocks: " + index.blockCount() + ", built in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        
+        start = System.nanoTime();
+        TimeRangeIndex reloaded = open(logFile, DEFAULT_LINES_PER_BLOCK);
+        System.out.println("Reloaded from sidecar in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        
+        LocalDateTime from = base.plusHours(20);
+        LocalDateTime to = from.plusMinutes(1);
+        
+        start = System.nanoTime();
+        List<LogEntry> entries = reloaded.query(logFile, from, to);
+        System.out.println("\n=== ENTRIES BETWEEN " + from + " AND " + to + " ===");
+        System.out.println("Found " + entries.size() + " entries in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("First: " + entries.get(0));
+        System.out.println("Last: " + entries.get(entries.size() - 1));
+    }
+}
@@ -0,0 +1,418 @@
+package com.interview.problems.trees;
+
+import com.interview.problems.datastructures.TreeNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Fork/join aggregation over large binary trees
+ * 
+ * A tree is folded in in-order with a user-supplied Accumulator (create a container,
+ * accept a node, merge two containers), so anything from a sum to the per-level value
+ * lists of levelOrderByLevel can be computed on all cores. The merge only has to be
+ * associative: results are merged in in-order position, so order-sensitive aggregations
+ * (and non-commutative monoids passed to reduce) give the same answer as a sequential fold.
+ * 
+ * Subtree sizes are not stored in TreeNode, so the size cutoff is applied as a budget: a
+ * task folds its subtree sequentially with an explicit stack, and each time it has
+ * visited cutoff nodes it forks the pending right subtree that comes last in in-order
+ * (the bottom of its stack, usually the largest) and carries on with the rest. Subtrees
+ * with fewer than cutoff nodes are never split, and a task with nothing else to do keeps
+ * going instead of forking, so degenerate (list-like) trees do not build deep join chains.
+ * 
+ * Time Complexity: O(n / p + h) for sum, count and max depth with p workers; per-level
+ *                  lists add the cost of concatenating them at merges
+ * Space Complexity: O(h) per task for the explicit stack
+ */
+public class ParallelTreeAggregator {
+    
+    public static final int DEFAULT_CUTOFF = 8192;
+    
+    /**
+     * Mutable reduction over tree nodes, like a java.util.stream.Collector
+     * 
+     * @param <A> the container type
+     */
+    public interface Accumulator<A> {
+        /**
+         * @return a new, empty container
+         */
+        A create();
+        
+        /**
+         * Adds a node to a container; nodes arrive in in-order within one container
+         * 
+         * @param depth the node's depth (the root has depth 0)
+         */
+        void accept(A container, TreeNode node, int depth);
+        
+        /**
+         * Merges two containers, where every node of left precedes every node of right in
+         * in-order; may reuse either argument
+         */
+        A merge(A left, A right);
+    }
+    
+    private final ForkJoinPool pool;
+    private final int cutoff;
+    
+    public ParallelTreeAggregator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+    
+    /**
+     * @param cutoff the number of nodes a task visits before it forks off a pending subtree
+     */
+    public ParallelTreeAggregator(ForkJoinPool pool, int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive");
+        }
+        this.pool = pool;
+        this.cutoff = cutoff;
+    }
+    
+    /**
+     * Folds the tree with the given accumulator
+     * 
+     * @return the container holding every node, or an empty container for an empty tree
+     */
+    public <A> A aggregate(TreeNode root, Accumulator<A> accumulator) {
+        if (root == null) {
+            return accumulator.create();
+        }
+        return pool.invoke(new AggregateTask<>(root, 0, accumulator, cutoff));
+    }
+    
+    /**
+     * @return the sum of all values
+     */
+    public long sum(TreeNode root) {
+        return aggregate(root, new LongAccumulator() {
+            @Override
+            public void accept(long[] container, TreeNode node, int depth) {
+                container[0] += node.val;
+            }
+        })[0];
+    }
+    
+    /**
+     * @return the number of nodes
+     */
+    public long count(TreeNode root) {
+        return aggregate(root, new LongAccumulator() {
+            @Override
+            public void accept(long[] container, TreeNode node, int depth) {
+                container[0]++;
+            }
+        })[0];
+    }
+    
+    /**
+     * @return the number of nodes on the longest root-to-leaf path (0 for an empty tree)
+     */
+    public int maxDepth(TreeNode root) {
+        return (int) aggregate(root, new LongAccumulator() {
+            @Override
+            public void accept(long[] container, TreeNode node, int depth) {
+                container[0] = Math.max(container[0], depth + 1);
+            }
+            
+            @Override
+            public long[] merge(long[] left, long[] right) {
+                left[0] = Math.max(left[0], right[0]);
+                return left;
+            }
+        })[0];
+    }
+    
+    /**
+     * Same result as TreeTraversal.levelOrderByLevel
+     * 
+     * In-order visits the nodes of one level from left to right, so concatenating the
+     * per-level lists of consecutive subtrees keeps each level in order.
+     * 
+     * @return one array of values per level, top level first
+     */
+    public int[][] valuesByLevel(TreeNode root) {
+        return aggregate(root, new LevelAccumulator()).toArrays();
+    }
+    
+    /**
+     * Parallel version of TreeTraversal.levelOrderByLevel
+     * 
+     * @return list of lists, each inner list contains nodes from one level
+     */
+    public List<List<Integer>> levelOrderByLevel(TreeNode root) {
+        int[][] levels = valuesByLevel(root);
+        List<List<Integer>> result = new ArrayList<>(levels.length);
+        for (int[] level : levels) {
+            List<Integer> values = new ArrayList<>(level.length);
+            for (int value : level) {
+                values.add(value);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+    
+    /**
+     * Reduces the node values with a user-supplied monoid: combiner must be associative with
+     * identity as its neutral element, but need not be commutative (values are combined in
+     * in-order)
+     * 
+     * @param mapper maps a node value into the monoid
+     * @return the combined value, or identity for an empty tree
+     */
+    public <R> R reduce(TreeNode root, R identity, IntFunction<? extends R> mapper, BinaryOperator<R> combiner) {
+        return aggregate(root, new Accumulator<Box<R>>() {
+            @Override
+            public Box<R> create() {
+                return new Box<>(identity);
+            }
+            
+            @Override
+            public void accept(Box<R> container, TreeNode node, int depth) {
+                container.value = combiner.apply(container.value, mapper.apply(node.val));
+            }
+            
+            @Override
+            public Box<R> merge(Box<R> left, Box<R> right) {
+                left.value = combiner.apply(left.value, right.value);
+                return left;
+            }
+        }).value;
+    }
+    
+    private static final class Box<R> {
+        R value;
+        
+        Box(R value) {
+            this.value = value;
+        }
+    }
+    
+    // One long per task; merge adds unless overridden
+    private abstract static class LongAccumulator implements Accumulator<long[]> {
+        @Override
+        public long[] create() {
+            return new long[1];
+        }
+        
+        @Override
+        public long[] merge(long[] left, long[] right) {
+            left[0] += right[0];
+            return left;
+        }
+    }
+    
+    // Growable int list per absolute depth
+    private static final class Levels {
+        int[][] values = new int[0][];
+        int[] sizes = new int[0];
+        
+        void add(int depth, int value) {
+            ensureCapacity(depth, 1);
+            values[depth][sizes[depth]++] = value;
+        }
+        
+        void append(Levels other) {
+            for (int depth = 0; depth < other.values.length; depth++) {
+                int count = other.sizes[depth];
+                if (count > 0) {
+                    ensureCapacity(depth, count);
+                    System.arraycopy(other.values[depth], 0, values[depth], sizes[depth], count);
+                    sizes[depth] += count;
+                }
+            }
+        }
+        
+        private void ensureCapacity(int depth, int extra) {
+            if (depth >= values.length) {
+                int length = Math.max(depth + 1, values.length * 2);
+                values = Arrays.copyOf(values, length);
+                sizes = Arrays.copyOf(sizes, length);
+            }
+            int[] level = values[depth];
+            int needed = sizes[depth] + extra;
+            if (level == null) {
+                values[depth] = new int[Math.max(4, needed)];
+            } else if (needed > level.length) {
+                values[depth] = Arrays.copyOf(level, Math.max(needed, level.length * 2));
+            }
+        }
+        
+        int[][] toArrays() {
+            int count = 0;
+            while (count < sizes.length && sizes[count] > 0) {
+                count++;
+            }
+            int[][] result = new int[count][];
+            for (int depth = 0; depth < count; depth++) {
+                result[depth] = Arrays.copyOf(values[depth], sizes[depth]);
+            }
+            return result;
+        }
+    }
+    
+    private static final class LevelAccumulator implements Accumulator<Levels> {
+        @Override
+        public Levels create() {
+            return new Levels();
+        }
+        
+        @Override
+        public void accept(Levels container, TreeNode node, int depth) {
+            container.add(depth, node.val);
+        }
+        
+        @Override
+        public Levels merge(Levels left, Levels right) {
+            left.append(right);
+            return left;
+        }
+    }
+    
+    /**
+     * Folds one subtree in in-order with an explicit stack of ancestors whose node and right
+     * subtree are still pending (the top one comes first). Entries below bottom have been
+     * detached: they are emitted after the live part, each followed by its forked right
+     * subtree if it has one.
+     */
+    private static final class AggregateTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+        
+        private final TreeNode root;
+        private final int rootDepth;
+        private final Accumulator<A> accumulator;
+        private final int cutoff;
+        
+        AggregateTask(TreeNode root, int rootDepth, Accumulator<A> accumulator, int cutoff) {
+            this.root = root;
+            this.rootDepth = rootDepth;
+            this.accumulator = accumulator;
+            this.cutoff = cutoff;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        protected A compute() {
+            A container = accumulator.create();
+            TreeNode[] stack = new TreeNode[32];
+            int[] depths = new int[32];
+            ForkJoinTask<?>[] forked = new ForkJoinTask<?>[32];
+            int bottom = 0;
+            int top = 0;
+            
+            TreeNode current = root;
+            int depth = rootDepth;
+            int budget = cutoff;
+            
+            while (current != null || top > bottom) {
+                // Go as far left as possible
+                while (current != null) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                        depths = Arrays.copyOf(depths, top * 2);
+                        forked = Arrays.copyOf(forked, top * 2);
+                    }
+                    stack[top] = current;
+                    depths[top++] = depth;
+                    current = current.left;
+                    depth++;
+                }
+                
+                if (--budget < 0) {
+                    budget = cutoff;
+                    
+                    // The lowest entry with a right subtree holds the last pending subtree in in-order
+                    int last = bottom;
+                    while (last < top && stack[last].right == null) {
+                        last++;
+                    }
+                    
+                    // Fork it unless this task would have nothing else to do meanwhile
+                    if (last < top - 1) {
+                        forked[last] = new AggregateTask<>(stack[last].right, depths[last] + 1, accumulator, cutoff).fork();
+                        bottom = last + 1;
+                    }
+                }
+                
+                TreeNode node = stack[--top];
+                int nodeDepth = depths[top];
+                accumulator.accept(container, node, nodeDepth);
+                current = node.right;
+                depth = nodeDepth + 1;
+            }
+            
+            // Detached entries, top first: the most recently forked task is joined first
+            for (int i = bottom - 1; i >= 0; i--) {
+                accumulator.accept(container, stack[i], depths[i]);
+                if (forked[i] != null) {
+                    container = accumulator.merge(container, (A) forked[i].join());
+                }
+            }
+            
+            return container;
+        }
+    }
+    
+    public static void main(String[] args) {
+        ParallelTreeAggregator aggregator = new ParallelTreeAggregator();
+        
+        Integer[] values = {1, 2, 3, 4, 5, null, 6, null, null, 7};
+        TreeNode root = TreeNode.createFromArray(values);
+        System.out.println("=== SAMPLE TREE ===");
+        System.out.println("Sum: " + aggregator.sum(root) + ", count: " + aggregator.count(root) + ", max depth: " + aggregator.maxDepth(root));
+        System.out.println("Levels: " + aggregator.levelOrderByLevel(root) + " (sequential " + TreeTraversal.levelOrderByLevel(root) + ")");
+        System.out.println("In-order string monoid: " + aggregator.reduce(root, "", Integer::toString, String::concat));
+        
+        // A tiny cutoff forces many forks on a small tree; results must not change
+        ParallelTreeAggregator eager = new ParallelTreeAggregator(ForkJoinPool.commonPool(), 1);
+        System.out.println("Cutoff 1: levels " + eager.levelOrderByLevel(root) + ", in-order " + eager.reduce(root, "", Integer::toString, String::concat));
+        
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        TreeNode big = TreeFactory.randomSearchTree(n, new Random(7));
+        System.out.println("\n=== " + n + " NODES, RANDOM BST, " + ForkJoinPool.commonPool().getParallelism() + " WORKERS ===");
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long sequentialSum = TreeIterators.stream(big, TreeIterators.Order.IN_ORDER, false).asLongStream().sum();
+            List<List<Integer>> sequentialLevels = TreeTraversal.levelOrderByLevel(big);
+            long sequentialTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            long parallelSum = aggregator.sum(big);
+            int[][] parallelLevels = aggregator.valuesByLevel(big);
+            long parallelTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            int maxValue = aggregator.reduce(big, Integer.MIN_VALUE, v -> v, Math::max);
+            int depth = aggregator.maxDepth(big);
+            long count = aggregator.count(big);
+            long monoidTime = System.nanoTime() - start;
+            
+            System.out.printf("Sum + levels: sequential %d ms, parallel %d ms (same: %b); max %d, depth %d, count %d in %d ms%n",
+                    sequentialTime / 1_000_000, parallelTime / 1_000_000,
+                    sequentialSum == parallelSum && sequentialLevels.size() == parallelLevels.length,
+                    maxValue, depth, count, monoidTime / 1_000_000);
+        }
+        
+        // Degenerate trees: a 10M-node path to the left and one to the right
+        int pathLength = 10_000_000;
+        TreeNode leftPath = null;
+        TreeNode rightPath = null;
+        for (int i = 0; i < pathLength; i++) {
+            leftPath = new TreeNode(1, leftPath, null);
+            rightPath = new TreeNode(1, null, rightPath);
+        }
+        System.out.println("\n=== " + pathLength + "-NODE PATHS ===");
+        System.out.println("Left path: count " + aggregator.count(leftPath) + ", depth " + aggregator.maxDepth(leftPath));
+        System.out.println("Right path: count " + aggregator.count(rightPath) + ", depth " + aggregator.maxDepth(rightPath));
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.problems.trees;
+
+import com.interview.problems.datastructures.TreeNode;
+import java.util.Random;
+
+/**
+ * Builds large test trees for the demos and benchmarks in this package, without recursion
+ * so that degenerate shapes cannot overflow the stack
+ */
+final class TreeFactory {
+    
+    private TreeFactory() {
+    }
+    
+    /**
+     * Builds a complete binary tree with values 1..n in level order
+     */
+    static TreeNode completeTree(int n) {
+        TreeNode[] nodes = new TreeNode[n];
+        for (int i = n - 1; i >= 0; i--) {
+            TreeNode left = 2 * i + 1 < n ? nodes[2 * i + 1] : null;
+            TreeNode right = 2 * i + 2 < n ? nodes[2 * i + 2] : null;
+            nodes[i] = new TreeNode(i + 1, left, right);
+        }
+        return n == 0 ? null : nodes[0];
+    }
+    
+    /**
+     * Builds a binary search tree by inserting n random keys; its nodes are allocated in
+     * random key order, like a tree built from live data
+     */
+    static TreeNode randomSearchTree(int n, Random random) {
+        TreeNode root = null;
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt();
+            if (root == null) {
+                root = new TreeNode(key);
+                continue;
+            }
+            
+            TreeNode node = root;
+            while (true) {
+                if (key < node.val) {
+                    if (node.left == null) {
+                        node.left = new TreeNode(key);
+                        break;
+                    }
+                    node = node.left;
+                } else {
+                    if (node.right == null) {
+                        node.right = new TreeNode(key);
+                        break;
+                    }
+                    node = node.right;
+                }
+            }
+        }
+        return root;
+    }
+}
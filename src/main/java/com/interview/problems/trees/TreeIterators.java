@@ -0,0 +1,468 @@
+package com.interview.problems.trees;
+
+import com.interview.problems.datastructures.TreeNode;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy primitive iterators and spliterators for the TreeTraversal orders
+ * 
+ * The TreeTraversal methods build a full List<Integer>, boxing every value, before the
+ * caller sees the first one. The iterators here produce one int at a time from an explicit
+ * node stack or queue (a plain array, not java.util.Stack), so a caller can stop early,
+ * and a tree can be fed into an IntStream without an intermediate list.
+ * 
+ * The depth-first spliterators split by subtree: the pending work is a stack of
+ * "expand this subtree" and "emit this value" entries, and trySplit hands the entries above
+ * the lowest pending subtree (the ones visited first) to a new spliterator, so parallel
+ * streams work on disjoint subtrees while keeping the encounter order. Level order and
+ * zigzag have no such prefix/suffix decomposition; their spliterators split by batching.
+ * 
+ * The tree must not be modified while an iterator or stream is in use.
+ * 
+ * Time Complexity: O(1) amortized per element, O(h) for a depth-first split
+ * Space Complexity: O(h) for depth-first orders, O(w) for level order and zigzag (w = max width)
+ */
+public class TreeIterators {
+    
+    public enum Order {
+        PRE_ORDER,
+        IN_ORDER,
+        POST_ORDER,
+        LEVEL_ORDER,
+        ZIGZAG
+    }
+    
+    /**
+     * @return a lazy iterator over the tree's values in the given order
+     */
+    public static PrimitiveIterator.OfInt iterator(TreeNode root, Order order) {
+        switch (order) {
+            case PRE_ORDER:
+                return new PreOrderIterator(root);
+            case IN_ORDER:
+                return new InOrderIterator(root);
+            case POST_ORDER:
+                return new PostOrderIterator(root);
+            case LEVEL_ORDER:
+                return new LevelOrderIterator(root);
+            case ZIGZAG:
+                return new ZigzagIterator(root);
+            default:
+                throw new IllegalArgumentException("Unknown order: " + order);
+        }
+    }
+    
+    /**
+     * @return a spliterator over the tree's values in the given order; depth-first orders split by subtree
+     */
+    public static Spliterator.OfInt spliterator(TreeNode root, Order order) {
+        switch (order) {
+            case PRE_ORDER:
+            case IN_ORDER:
+            case POST_ORDER:
+                return new DepthFirstSpliterator(root, order);
+            default:
+                return Spliterators.spliteratorUnknownSize(iterator(root, order), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+    }
+    
+    /**
+     * @return an IntStream over the tree's values in the given order
+     */
+    public static IntStream stream(TreeNode root, Order order, boolean parallel) {
+        return StreamSupport.intStream(spliterator(root, order), parallel);
+    }
+    
+    /**
+     * Growable array stack of nodes shared by the depth-first iterators
+     */
+    private abstract static class StackIterator implements PrimitiveIterator.OfInt {
+        TreeNode[] stack = new TreeNode[16];
+        int size;
+        
+        void push(TreeNode node) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = node;
+        }
+        
+        // Pushes node and its chain of left children
+        void pushLeft(TreeNode node) {
+            while (node != null) {
+                push(node);
+                node = node.left;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+        
+        void checkNext() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+    
+    // Root -> Left -> Right: pop a node, push its right then its left child
+    private static final class PreOrderIterator extends StackIterator {
+        PreOrderIterator(TreeNode root) {
+            if (root != null) {
+                push(root);
+            }
+        }
+        
+        @Override
+        public int nextInt() {
+            checkNext();
+            TreeNode node = stack[--size];
+            if (node.right != null) {
+                push(node.right);
+            }
+            if (node.left != null) {
+                push(node.left);
+            }
+            return node.val;
+        }
+    }
+    
+    // Left -> Root -> Right: the stack holds the left spine still to be visited
+    private static final class InOrderIterator extends StackIterator {
+        InOrderIterator(TreeNode root) {
+            pushLeft(root);
+        }
+        
+        @Override
+        public int nextInt() {
+            checkNext();
+            TreeNode node = stack[--size];
+            pushLeft(node.right);
+            return node.val;
+        }
+    }
+    
+    // Left -> Right -> Root: a node is emitted once its right subtree (if any) was just emitted
+    private static final class PostOrderIterator extends StackIterator {
+        private TreeNode last;
+        
+        PostOrderIterator(TreeNode root) {
+            pushLeft(root);
+        }
+        
+        @Override
+        public int nextInt() {
+            checkNext();
+            while (true) {
+                TreeNode node = stack[size - 1];
+                if (node.right != null && node.right != last) {
+                    pushLeft(node.right);
+                } else {
+                    size--;
+                    last = node;
+                    return node.val;
+                }
+            }
+        }
+    }
+    
+    // BFS over a power-of-two ring buffer
+    private static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private TreeNode[] queue = new TreeNode[16];
+        private int head;
+        private int size;
+        
+        LevelOrderIterator(TreeNode root) {
+            if (root != null) {
+                offer(root);
+            }
+        }
+        
+        private void offer(TreeNode node) {
+            if (size == queue.length) {
+                TreeNode[] grown = new TreeNode[size * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = queue[(head + i) & (size - 1)];
+                }
+                queue = grown;
+                head = 0;
+            }
+            queue[(head + size++) & (queue.length - 1)] = node;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+        
+        @Override
+        public int nextInt() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            TreeNode node = queue[head];
+            queue[head] = null;
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            
+            if (node.left != null) {
+                offer(node.left);
+            }
+            if (node.right != null) {
+                offer(node.right);
+            }
+            return node.val;
+        }
+    }
+    
+    // Keeps one level in an array and reads it forwards or backwards
+    private static final class ZigzagIterator implements PrimitiveIterator.OfInt {
+        private TreeNode[] level = new TreeNode[16];
+        private TreeNode[] next = new TreeNode[16];
+        private int levelSize;
+        private int index;
+        private boolean leftToRight = true;
+        
+        ZigzagIterator(TreeNode root) {
+            if (root != null) {
+                level[levelSize++] = root;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return index < levelSize;
+        }
+        
+        @Override
+        public int nextInt() {
+            if (index >= levelSize) {
+                throw new NoSuchElementException();
+            }
+            TreeNode node = level[leftToRight ? index : levelSize - 1 - index];
+            if (++index == levelSize) {
+                nextLevel();
+            }
+            return node.val;
+        }
+        
+        private void nextLevel() {
+            int count = 0;
+            for (int i = 0; i < levelSize; i++) {
+                TreeNode node = level[i];
+                if (count + 2 > next.length) {
+                    next = Arrays.copyOf(next, next.length * 2);
+                }
+                if (node.left != null) {
+                    next[count++] = node.left;
+                }
+                if (node.right != null) {
+                    next[count++] = node.right;
+                }
+                level[i] = null;
+            }
+            
+            TreeNode[] swap = level;
+            level = next;
+            next = swap;
+            levelSize = count;
+            index = 0;
+            leftToRight = !leftToRight;
+        }
+    }
+    
+    /**
+     * Depth-first spliterator over a stack of pending entries, each either a subtree to
+     * expand or a single value to emit; the top of the stack is visited first
+     */
+    private static final class DepthFirstSpliterator implements Spliterator.OfInt {
+        private final Order order;
+        private TreeNode[] nodes;
+        private boolean[] emit;
+        private int size;
+        private long estimate = Long.MAX_VALUE;
+        
+        DepthFirstSpliterator(TreeNode root, Order order) {
+            this(order, new TreeNode[16], new boolean[16], 0);
+            push(root, false);
+        }
+        
+        private DepthFirstSpliterator(Order order, TreeNode[] nodes, boolean[] emit, int size) {
+            this.order = order;
+            this.nodes = nodes;
+            this.emit = emit;
+            this.size = size;
+        }
+        
+        private void push(TreeNode node, boolean value) {
+            if (node == null) {
+                return;
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                emit = Arrays.copyOf(emit, size * 2);
+            }
+            nodes[size] = node;
+            emit[size++] = value;
+        }
+        
+        // Pushes the parts of a subtree in reverse visiting order
+        private void expand(TreeNode node) {
+            switch (order) {
+                case PRE_ORDER:
+                    push(node.right, false);
+                    push(node.left, false);
+                    push(node, true);
+                    break;
+                case IN_ORDER:
+                    push(node.right, false);
+                    push(node, true);
+                    push(node.left, false);
+                    break;
+                default:
+                    push(node, true);
+                    push(node.right, false);
+                    push(node.left, false);
+                    break;
+            }
+        }
+        
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (size > 0) {
+                TreeNode node = nodes[--size];
+                nodes[size] = null;
+                if (emit[size]) {
+                    action.accept(node.val);
+                    return true;
+                }
+                expand(node);
+            }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (size > 0) {
+                TreeNode node = nodes[--size];
+                nodes[size] = null;
+                if (emit[size]) {
+                    action.accept(node.val);
+                } else {
+                    expand(node);
+                }
+            }
+        }
+        
+        /**
+         * Keeps the entries up to the lowest pending subtree (visited last) and returns the
+         * entries above it; if that subtree is on top, it is expanded first
+         */
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int keep = lowestSubtree();
+            if (keep >= 0 && keep == size - 1) {
+                TreeNode node = nodes[--size];
+                nodes[size] = null;
+                expand(node);
+                keep = lowestSubtree();
+            }
+            if (keep < 0 || keep == size - 1) {
+                return null;
+            }
+            
+            int prefixSize = size - keep - 1;
+            TreeNode[] prefixNodes = Arrays.copyOfRange(nodes, keep + 1, keep + 1 + Math.max(16, prefixSize));
+            boolean[] prefixEmit = Arrays.copyOfRange(emit, keep + 1, keep + 1 + Math.max(16, prefixSize));
+            Arrays.fill(nodes, keep + 1, size, null);
+            size = keep + 1;
+            
+            DepthFirstSpliterator prefix = new DepthFirstSpliterator(order, prefixNodes, prefixEmit, prefixSize);
+            estimate >>>= 1;
+            prefix.estimate = estimate;
+            return prefix;
+        }
+        
+        private int lowestSubtree() {
+            for (int i = 0; i < size; i++) {
+                if (!emit[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+    
+    public static void main(String[] args) {
+        Integer[] values = {1, 2, 3, 4, 5, null, 6, null, null, 7};
+        TreeNode root = TreeNode.createFromArray(values);
+        
+        System.out.println("=== LAZY ITERATORS ===");
+        for (Order order : Order.values()) {
+            StringBuilder line = new StringBuilder();
+            for (PrimitiveIterator.OfInt it = iterator(root, order); it.hasNext(); ) {
+                line.append(it.nextInt()).append(' ');
+            }
+            System.out.println(order + ": " + line.toString().trim());
+        }
+        System.out.println("List versions: pre " + TreeTraversal.preOrderIterative(root) + ", in " + TreeTraversal.inOrderIterative(root)
+                + ", post " + TreeTraversal.postOrderIterative(root) + ", level " + TreeTraversal.levelOrderTraversal(root)
+                + ", zigzag " + TreeTraversal.zigzagLevelOrder(root));
+        
+        System.out.println("\n=== STREAMS ===");
+        OptionalInt firstAbove4 = stream(root, Order.IN_ORDER, false).filter(v -> v > 4).findFirst();
+        System.out.println("First in-order value > 4: " + firstAbove4.getAsInt());
+        System.out.println("Parallel pre-order: " + Arrays.toString(stream(root, Order.PRE_ORDER, true).toArray()));
+        
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        TreeNode big = TreeFactory.completeTree(n);
+        System.out.println("\n=== " + n + " NODES: SUM OF IN-ORDER VALUES ===");
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long listSum = 0;
+            for (int value : TreeTraversal.inOrderIterative(big)) {
+                listSum += value;
+            }
+            long listTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            long iteratorSum = 0;
+            for (PrimitiveIterator.OfInt it = iterator(big, Order.IN_ORDER); it.hasNext(); ) {
+                iteratorSum += it.nextInt();
+            }
+            long iteratorTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            long parallelSum = stream(big, Order.IN_ORDER, true).asLongStream().sum();
+            long parallelTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            int first = stream(big, Order.IN_ORDER, false).findFirst().getAsInt();
+            long shortCircuitTime = System.nanoTime() - start;
+            
+            System.out.printf("List %d ms, iterator %d ms, parallel stream %d ms, findFirst %.3f ms (sums equal: %b, first %d)%n",
+                    listTime / 1_000_000, iteratorTime / 1_000_000, parallelTime / 1_000_000, shortCircuitTime / 1e6,
+                    listSum == iteratorSum && iteratorSum == parallelSum, first);
+        }
+    }
+}
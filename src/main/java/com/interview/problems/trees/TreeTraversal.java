@@ -1,7 +1,9 @@
 package com.interview.problems.trees;
 
+import com.interview.problems.datastructures.ArrayTree;
 import com.interview.problems.datastructures.TreeNode;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Problem 1: Tree Traversal Algorithms
@@ -12,15 +14,23 @@ import java.util.*;
  * 3. Iterative implementations of DFS
  * 4. Zigzag traversal
  * 5. Boundary traversal
+ * 6. Morris traversals (no recursion, no stack)
+ * 
+ * The recursive versions recurse once per level and overflow the thread stack on
+ * degenerate (path-like) trees; the iterative, Morris, boundary and vertical order
+ * traversals do not recurse and handle trees millions of levels deep.
  * 
  * Time Complexity: O(n) where n is the number of nodes in the tree
  * Space Complexity: O(h) for recursive traversals, where h is the height of the tree
  *                  O(n) for iterative traversals in the worst case
+ *                  O(1) for Morris traversals (besides the result)
+ *                  O(h) for the boundary traversal (besides the result)
  */
 public class TreeTraversal {
     
     /**
      * Pre-order traversal (recursive): Root -> Left -> Right
+     * Recursion depth is the tree height; use preOrderIterative or morrisPreorderTraversal for degenerate trees
      * 
      * @param root the root of the binary tree
      * @return list of values in pre-order
@@ -43,6 +53,7 @@ public class TreeTraversal {
     
     /**
      * In-order traversal (recursive): Left -> Root -> Right
+     * Recursion depth is the tree height; use inOrderIterative or morrisInorderTraversal for degenerate trees
      * 
      * @param root the root of the binary tree
      * @return list of values in in-order
@@ -65,6 +76,7 @@ public class TreeTraversal {
     
     /**
      * Post-order traversal (recursive): Left -> Right -> Root
+     * Recursion depth is the tree height; use postOrderIterative or morrisPostorderTraversal for degenerate trees
      * 
      * @param root the root of the binary tree
      * @return list of values in post-order
@@ -334,50 +346,66 @@ public class TreeTraversal {
     }
     
     private static void getLeftBoundary(TreeNode node, List<Integer> result) {
-        if (node == null || (node.left == null && node.right == null)) {
-            return;
-        }
-        
-        result.add(node.val);
-        
-        if (node.left != null) {
-            getLeftBoundary(node.left, result);
-        } else {
-            getLeftBoundary(node.right, result);
+        // Walk down, preferring the left child, until a leaf
+        while (node != null && (node.left != null || node.right != null)) {
+            result.add(node.val);
+            node = node.left != null ? node.left : node.right;
         }
     }
     
     private static void getLeaves(TreeNode node, List<Integer> result) {
+        // Pre-order walk with an explicit stack: leaves come out left to right, and unlike
+        // a Morris walk the tree is never modified, so concurrent readers see it intact.
+        // The stack holds at most one pending right child per level, so it stays O(h).
         if (node == null) {
             return;
         }
         
-        if (node.left == null && node.right == null) {
-            result.add(node.val);
-            return;
-        }
+        TreeNode[] stack = new TreeNode[16];
+        int top = 0;
+        stack[top++] = node;
         
-        getLeaves(node.left, result);
-        getLeaves(node.right, result);
+        while (top > 0) {
+            TreeNode current = stack[--top];
+            
+            if (current.left == null && current.right == null) {
+                result.add(current.val);
+                continue;
+            }
+            
+            // Push right first so left is visited first (LIFO)
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (current.right != null) {
+                stack[top++] = current.right;
+            }
+            if (current.left != null) {
+                stack[top++] = current.left;
+            }
+        }
     }
     
     private static void getRightBoundary(TreeNode node, List<Integer> result) {
-        if (node == null || (node.left == null && node.right == null)) {
-            return;
-        }
+        // Walk down, preferring the right child, then reverse what was added
+        int start = result.size();
         
-        if (node.right != null) {
-            getRightBoundary(node.right, result);
-        } else {
-            getRightBoundary(node.left, result);
+        while (node != null && (node.left != null || node.right != null)) {
+            result.add(node.val);
+            node = node.right != null ? node.right : node.left;
         }
         
-        result.add(node.val); // Add after recursion (to reverse the order)
+        Collections.reverse(result.subList(start, result.size()));
     }
     
     /**
      * Vertical order traversal of a binary tree
      * 
+     * Nodes are listed column by column from left to right, and within a column in level order.
+     * The BFS queue is a pair of parallel arrays (node, column) that keeps every node, and the
+     * columns are then bucketed by offset (column - minColumn) with a counting sort, instead of
+     * boxing a Pair per node and keying a TreeMap by column.
+     * 
      * @param root the root of the binary tree
      * @return list of lists, each inner list contains nodes from one vertical level
      */
@@ -388,47 +416,54 @@ public class TreeTraversal {
             return result;
         }
         
-        // Map to store nodes at each column
-        Map<Integer, List<Integer>> columnMap = new TreeMap<>();
-        
-        // Queue to do level order traversal
-        Queue<Pair<TreeNode, Integer>> queue = new LinkedList<>();
-        queue.add(new Pair<>(root, 0));
-        
-        while (!queue.isEmpty()) {
-            Pair<TreeNode, Integer> pair = queue.poll();
-            TreeNode node = pair.key;
-            int column = pair.value;
+        // BFS over parallel arrays; nothing is dequeued for real, so afterwards nodes[0..tail)
+        // is the level order and columns[i] is the column of nodes[i]
+        TreeNode[] nodes = new TreeNode[16];
+        int[] columns = new int[16];
+        int head = 0;
+        int tail = 0;
+        nodes[tail] = root;
+        columns[tail++] = 0;
+        int minColumn = 0;
+        int maxColumn = 0;
+        
+        while (head < tail) {
+            TreeNode node = nodes[head];
+            int column = columns[head++];
             
-            // Add the node to its column list
-            columnMap.putIfAbsent(column, new ArrayList<>());
-            columnMap.get(column).add(node.val);
+            if (tail + 2 > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                columns = Arrays.copyOf(columns, columns.length * 2);
+            }
             
-            // Add left and right children to queue with their columns
             if (node.left != null) {
-                queue.add(new Pair<>(node.left, column - 1));
+                nodes[tail] = node.left;
+                columns[tail++] = column - 1;
+                minColumn = Math.min(minColumn, column - 1);
             }
             
             if (node.right != null) {
-                queue.add(new Pair<>(node.right, column + 1));
+                nodes[tail] = node.right;
+                columns[tail++] = column + 1;
+                maxColumn = Math.max(maxColumn, column + 1);
             }
         }
         
-        // Add all column lists to the result
-        result.addAll(columnMap.values());
+        // Counting sort by column offset; stable, so each column keeps the level order
+        int[] counts = new int[maxColumn - minColumn + 1];
+        for (int i = 0; i < tail; i++) {
+            counts[columns[i] - minColumn]++;
+        }
         
-        return result;
-    }
-    
-    // Helper class for pair of values
-    static class Pair<K, V> {
-        K key;
-        V value;
+        for (int count : counts) {
+            result.add(new ArrayList<>(count));
+        }
         
-        public Pair(K key, V value) {
-            this.key = key;
-            this.value = value;
+        for (int i = 0; i < tail; i++) {
+            result.get(columns[i] - minColumn).add(nodes[i].val);
         }
+        
+        return result;
     }
     
     /**
@@ -471,6 +506,236 @@ public class TreeTraversal {
         return result;
     }
     
+    /**
+     * Morris traversal for pre-order (without recursion or stack)
+     * Same threading as the in-order version, but a node is visited when its thread is made
+     * (on the way down) instead of when it is removed. The tree is modified while the
+     * traversal runs and restored when it finishes.
+     * Space Complexity: O(1)
+     * 
+     * @param root the root of the binary tree
+     * @return list of values in pre-order
+     */
+    public static List<Integer> morrisPreorderTraversal(TreeNode root) {
+        List<Integer> result = new ArrayList<>();
+        TreeNode current = root;
+        
+        while (current != null) {
+            if (current.left == null) {
+                result.add(current.val);
+                current = current.right;
+            } else {
+                TreeNode predecessor = current.left;
+                
+                while (predecessor.right != null && predecessor.right != current) {
+                    predecessor = predecessor.right;
+                }
+                
+                if (predecessor.right == null) {
+                    // Visit before descending into the left subtree
+                    result.add(current.val);
+                    predecessor.right = current;
+                    current = current.left;
+                } else {
+                    predecessor.right = null;
+                    current = current.right;
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Morris traversal for post-order (without recursion or stack)
+     * A dummy node gets the whole tree as its left subtree. Whenever a thread is removed, the
+     * right edge from current.left down to the predecessor is emitted bottom-up: those nodes
+     * have just finished their subtrees. The tree is restored when the traversal finishes.
+     * Space Complexity: O(1)
+     * 
+     * @param root the root of the binary tree
+     * @return list of values in post-order
+     */
+    public static List<Integer> morrisPostorderTraversal(TreeNode root) {
+        List<Integer> result = new ArrayList<>();
+        TreeNode dummy = new TreeNode(0);
+        dummy.left = root;
+        TreeNode current = dummy;
+        
+        while (current != null) {
+            if (current.left == null) {
+                current = current.right;
+            } else {
+                TreeNode predecessor = current.left;
+                
+                while (predecessor.right != null && predecessor.right != current) {
+                    predecessor = predecessor.right;
+                }
+                
+                if (predecessor.right == null) {
+                    predecessor.right = current;
+                    current = current.left;
+                } else {
+                    predecessor.right = null;
+                    
+                    // Emit the right edge current.left -> ... -> predecessor in reverse
+                    int start = result.size();
+                    for (TreeNode node = current.left; node != null; node = node.right) {
+                        result.add(node.val);
+                    }
+                    Collections.reverse(result.subList(start, result.size()));
+                    
+                    current = current.right;
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    // ==================== ARRAY TREE VERSIONS ====================
+    // Same orders over an ArrayTree (int[] values/left/right): explicit int stacks and
+    // queues, results as int[] instead of List<Integer>.
+    
+    /**
+     * Pre-order traversal of an array-backed tree
+     * 
+     * @param tree the array-backed binary tree
+     * @return values in pre-order
+     */
+    public static int[] preOrderTraversal(ArrayTree tree) {
+        if (tree.root() == ArrayTree.NONE) {
+            return new int[0];
+        }
+        
+        int[] result = new int[tree.size()];
+        int count = 0;
+        int[] stack = new int[tree.size()];
+        int top = 0;
+        stack[top++] = tree.root();
+        
+        while (top > 0) {
+            int node = stack[--top];
+            result[count++] = tree.value(node);
+            
+            // Push right first so left is processed first (LIFO)
+            if (tree.right(node) != ArrayTree.NONE) {
+                stack[top++] = tree.right(node);
+            }
+            
+            if (tree.left(node) != ArrayTree.NONE) {
+                stack[top++] = tree.left(node);
+            }
+        }
+        
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+    
+    /**
+     * In-order traversal of an array-backed tree
+     * 
+     * @param tree the array-backed binary tree
+     * @return values in in-order
+     */
+    public static int[] inOrderTraversal(ArrayTree tree) {
+        int[] result = new int[tree.size()];
+        int count = 0;
+        int[] stack = new int[tree.size()];
+        int top = 0;
+        int current = tree.root();
+        
+        while (current != ArrayTree.NONE || top > 0) {
+            // Go as far left as possible
+            while (current != ArrayTree.NONE) {
+                stack[top++] = current;
+                current = tree.left(current);
+            }
+            
+            current = stack[--top];
+            result[count++] = tree.value(current);
+            current = tree.right(current);
+        }
+        
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+    
+    /**
+     * Post-order traversal of an array-backed tree
+     * 
+     * @param tree the array-backed binary tree
+     * @return values in post-order
+     */
+    public static int[] postOrderTraversal(ArrayTree tree) {
+        if (tree.root() == ArrayTree.NONE) {
+            return new int[0];
+        }
+        
+        int[] result = new int[tree.size()];
+        int count = 0;
+        int[] stack = new int[tree.size()];
+        int top = 0;
+        stack[top++] = tree.root();
+        
+        // Root -> Right -> Left, then reversed
+        while (top > 0) {
+            int node = stack[--top];
+            result[count++] = tree.value(node);
+            
+            if (tree.left(node) != ArrayTree.NONE) {
+                stack[top++] = tree.left(node);
+            }
+            
+            if (tree.right(node) != ArrayTree.NONE) {
+                stack[top++] = tree.right(node);
+            }
+        }
+        
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+    
+    /**
+     * Level-order traversal of an array-backed tree
+     * 
+     * @param tree the array-backed binary tree
+     * @return values in level-order
+     */
+    public static int[] levelOrderTraversal(ArrayTree tree) {
+        if (tree.root() == ArrayTree.NONE) {
+            return new int[0];
+        }
+        
+        // Every node is enqueued once, so the queue never wraps
+        int[] queue = new int[tree.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = tree.root();
+        
+        while (head < tail) {
+            int node = queue[head++];
+            
+            if (tree.left(node) != ArrayTree.NONE) {
+                queue[tail++] = tree.left(node);
+            }
+            
+            if (tree.right(node) != ArrayTree.NONE) {
+                queue[tail++] = tree.right(node);
+            }
+        }
+        
+        // Replace node indices with their values
+        for (int i = 0; i < tail; i++) {
+            queue[i] = tree.value(queue[i]);
+        }
+        
+        return tail == queue.length ? queue : Arrays.copyOf(queue, tail);
+    }
+    
     public static void main(String[] args) {
         // Create a sample binary tree
         //      1
@@ -522,7 +787,9 @@ public class TreeTraversal {
         }
         
         System.out.println("\n=== MORRIS TRAVERSAL (O(1) SPACE) ===");
+        System.out.println("Morris Pre-order: " + morrisPreorderTraversal(root));
         System.out.println("Morris In-order: " + morrisInorderTraversal(root));
+        System.out.println("Morris Post-order: " + morrisPostorderTraversal(root));
         
         // Test edge cases
         System.out.println("\n=== EDGE CASES ===");
@@ -539,5 +806,96 @@ public class TreeTraversal {
         System.out.println("In-order: " + inOrderTraversal(singleNode));
         System.out.println("Post-order: " + postOrderTraversal(singleNode));
         System.out.println("Level-order: " + levelOrderTraversal(singleNode));
+        
+        System.out.println("\n=== ARRAY TREE ===");
+        ArrayTree arrayTree = ArrayTree.createFromArray(values);
+        System.out.println("Pre-order: " + Arrays.toString(preOrderTraversal(arrayTree)));
+        System.out.println("In-order: " + Arrays.toString(inOrderTraversal(arrayTree)));
+        System.out.println("Post-order: " + Arrays.toString(postOrderTraversal(arrayTree)));
+        System.out.println("Level-order: " + Arrays.toString(levelOrderTraversal(arrayTree)));
+        System.out.println("Back to TreeNode, in-order: " + inOrderTraversal(arrayTree.toTreeNode()));
+        
+        benchmarkArrayTree(args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000);
+        demoDegenerateTree(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+    }
+    
+    /**
+     * Runs the non-recursive traversals on a path of the given depth that alternates between
+     * left and right children (the recursive versions overflow the stack long before)
+     */
+    private static void demoDegenerateTree(int depth) {
+        TreeNode root = new TreeNode(0);
+        TreeNode node = root;
+        for (int i = 1; i < depth; i++) {
+            if (i % 2 == 1) {
+                node.left = new TreeNode(i);
+                node = node.left;
+            } else {
+                node.right = new TreeNode(i);
+                node = node.right;
+            }
+        }
+        
+        System.out.printf("%n=== DEGENERATE TREE (%d levels) ===%n", depth);
+        TreeNode tree = root;
+        Map<String, Supplier<List<?>>> traversals = new LinkedHashMap<>();
+        traversals.put("Pre-order (iterative)", () -> preOrderIterative(tree));
+        traversals.put("In-order (iterative)", () -> inOrderIterative(tree));
+        traversals.put("Post-order (iterative)", () -> postOrderIterative(tree));
+        traversals.put("Morris pre-order", () -> morrisPreorderTraversal(tree));
+        traversals.put("Morris in-order", () -> morrisInorderTraversal(tree));
+        traversals.put("Morris post-order", () -> morrisPostorderTraversal(tree));
+        traversals.put("Boundary", () -> boundaryTraversal(tree));
+        traversals.put("Vertical order (columns)", () -> verticalOrder(tree));
+        
+        for (Map.Entry<String, Supplier<List<?>>> entry : traversals.entrySet()) {
+            long start = System.nanoTime();
+            int size = entry.getValue().get().size();
+            System.out.printf("%s: %d values, %d ms%n", entry.getKey(), size, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+    
+    /**
+     * Compares traversal throughput of TreeNode and ArrayTree on a random binary search tree,
+     * whose nodes are allocated in random key order like a tree built from live data
+     */
+    private static void benchmarkArrayTree(int n) {
+        TreeNode root = TreeFactory.randomSearchTree(n, new Random(42));
+        
+        long start = System.nanoTime();
+        ArrayTree tree = ArrayTree.fromTreeNode(root);
+        System.out.printf("%n=== TRAVERSAL BENCHMARK (%d nodes, random BST) ===%nConvert to ArrayTree: %d ms%n",
+                n, (System.nanoTime() - start) / 1_000_000);
+        
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            List<Integer> inList = inOrderIterative(root);
+            List<Integer> levelList = levelOrderTraversal(root);
+            long listTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            long iteratorSum = 0;
+            for (PrimitiveIterator.OfInt it = TreeIterators.iterator(root, TreeIterators.Order.IN_ORDER); it.hasNext(); ) {
+                iteratorSum += it.nextInt();
+            }
+            for (PrimitiveIterator.OfInt it = TreeIterators.iterator(root, TreeIterators.Order.LEVEL_ORDER); it.hasNext(); ) {
+                iteratorSum += it.nextInt();
+            }
+            long iteratorTime = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            int[] inArray = inOrderTraversal(tree);
+            int[] levelArray = levelOrderTraversal(tree);
+            long arrayTime = System.nanoTime() - start;
+            
+            long arraySum = 0;
+            for (int i = 0; i < n; i++) {
+                arraySum += inArray[i] + (long) levelArray[i];
+            }
+            boolean same = inList.get(n - 1) == inArray[n - 1] && levelList.get(n - 1) == levelArray[n - 1] && iteratorSum == arraySum;
+            
+            System.out.printf("In-order + level-order: TreeNode lists %d ms, TreeNode iterators %d ms, ArrayTree %d ms (%.0f M nodes/s, same: %b)%n",
+                    listTime / 1_000_000, iteratorTime / 1_000_000, arrayTime / 1_000_000, 2.0 * n / (arrayTime / 1e3), same);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.interview.practice.datastructures;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkedListTest {
+    
+    private static List<Integer> toList(LinkedList<Integer> list) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer value : list) {
+            result.add(value);
+        }
+        return result;
+    }
+    
+    @Test
+    public void testAddAndAddAll() {
+        LinkedList<Integer> list = new LinkedList<>();
+        assertTrue(list.isEmpty());
+        
+        list.add(1);
+        list.addAll(new Integer[] {2, 3});
+        list.addAll(List.of(4, 5));
+        list.addFirst(0);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), toList(list));
+        assertEquals(6, list.size());
+        assertEquals(0, list.getFirst());
+        assertEquals(5, list.getLast());
+        
+        list.addAll(list);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5), toList(list));
+        assertEquals("[0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5]", list.toString());
+    }
+    
+    @Test
+    public void testRemove() {
+        LinkedList<Integer> list = new LinkedList<>();
+        list.addAll(new Integer[] {1, 2, 3, null, 3});
+        
+        assertTrue(list.remove(Integer.valueOf(3)));
+        assertTrue(list.remove(null));
+        assertFalse(list.remove(Integer.valueOf(7)));
+        assertEquals(List.of(1, 2, 3), toList(list));
+        
+        // Removing the tail must move the tail pointer back
+        assertTrue(list.remove(Integer.valueOf(3)));
+        list.add(4);
+        assertEquals(List.of(1, 2, 4), toList(list));
+        assertEquals(4, list.getLast());
+        
+        assertEquals(1, list.removeFirst());
+        assertEquals(2, list.removeFirst());
+        assertEquals(4, list.removeFirst());
+        assertTrue(list.isEmpty());
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(NoSuchElementException.class, list::getLast);
+        
+        list.add(5);
+        assertEquals(5, list.getFirst());
+        assertEquals(5, list.getLast());
+        assertTrue(list.contains(5));
+        
+        list.clear();
+        assertEquals(0, list.size());
+        assertFalse(list.contains(5));
+    }
+    
+    @Test
+    public void testIterator() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        
+        // Remove the odd values, including the last element
+        for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 1) {
+                it.remove();
+            }
+        }
+        assertEquals(List.of(0, 2, 4, 6, 8), toList(list));
+        assertEquals(5, list.size());
+        list.add(10);
+        assertEquals(10, list.getLast());
+        
+        Iterator<Integer> it = list.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        list.add(12);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+    
+    @Test
+    public void testSpliterator() {
+        LinkedList<Integer> list = new LinkedList<>();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            list.add(i);
+        }
+        
+        assertEquals(n, list.spliterator().estimateSize());
+        assertEquals((long) n * (n - 1) / 2, list.stream().parallel().mapToLong(Integer::longValue).sum());
+        assertEquals(toList(list), list.stream().parallel().collect(Collectors.toList()));
+        assertEquals(List.of(), new LinkedList<Integer>().stream().collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void testSpliteratorAfterShrink() {
+        LinkedList<Integer> list = new LinkedList<>();
+        list.addAll(new Integer[] {1, 2, 3, 4, 5});
+        
+        // Bound to five elements, then the tail is unlinked so the chain ends one node early
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertEquals(5, spliterator.estimateSize());
+        list.remove(Integer.valueOf(5));
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(value -> { }));
+        
+        // The list shrinks while the walk is running
+        list.clear();
+        list.addAll(new Integer[] {1, 2, 3, 4, 5});
+        List<Integer> seen = new ArrayList<>();
+        assertThrows(ConcurrentModificationException.class, () -> list.spliterator().forEachRemaining(value -> {
+            seen.add(value);
+            list.clear();
+        }));
+        assertEquals(List.of(1), seen);
+        
+        list.clear();
+        list.addAll(new Integer[] {1, 2, 3});
+        Spliterator<Integer> advancing = list.spliterator();
+        assertTrue(advancing.tryAdvance(value -> { }));
+        list.removeFirst();
+        assertThrows(ConcurrentModificationException.class, () -> advancing.tryAdvance(value -> { }));
+    }
+}
@@ -0,0 +1,82 @@
+package com.interview.problems.graphs;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedDaryHeapTest {
+    
+    @Test
+    public void testAgainstBruteForce() {
+        Random random = new Random(3);
+        
+        for (int arity = 2; arity <= 8; arity++) {
+            int capacity = 200;
+            IndexedDaryHeap heap = new IndexedDaryHeap(arity, capacity);
+            double[] keys = new double[capacity];
+            boolean[] present = new boolean[capacity];
+            
+            for (int op = 0; op < 20_000; op++) {
+                int item = random.nextInt(capacity);
+                int action = random.nextInt(3);
+                
+                if (action == 0) {
+                    double key = random.nextInt(1000);
+                    boolean changed = heap.insertOrDecrease(item, key);
+                    assertEquals(!present[item] || key < keys[item], changed);
+                    if (changed) {
+                        keys[item] = key;
+                        present[item] = true;
+                    }
+                } else if (action == 1 && present[item]) {
+                    keys[item] -= random.nextInt(50);
+                    heap.decreaseKey(item, keys[item]);
+                } else if (!heap.isEmpty()) {
+                    // The polled key must be the smallest present one
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int i = 0; i < capacity; i++) {
+                        if (present[i]) {
+                            min = Math.min(min, keys[i]);
+                        }
+                    }
+                    assertEquals(min, heap.peekKey());
+                    int polled = heap.poll();
+                    assertTrue(present[polled]);
+                    assertEquals(min, keys[polled]);
+                    present[polled] = false;
+                }
+                
+                int size = 0;
+                for (int i = 0; i < capacity; i++) {
+                    size += present[i] ? 1 : 0;
+                    assertEquals(present[i], heap.contains(i));
+                }
+                assertEquals(size, heap.size());
+                if (present[item]) {
+                    assertEquals(keys[item], heap.keyOf(item));
+                }
+            }
+            
+            heap.clear();
+            assertTrue(heap.isEmpty());
+            assertFalse(heap.contains(0));
+        }
+    }
+    
+    @Test
+    public void testInvalidOperations() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(4);
+        assertThrows(NoSuchElementException.class, heap::poll);
+        assertThrows(NoSuchElementException.class, () -> heap.decreaseKey(1, 0));
+        heap.insert(1, 5);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 6));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(1, 4));
+        
+        heap.ensureCapacity(10);
+        heap.insert(9, 1);
+        assertEquals(9, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+}
@@ -0,0 +1,143 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelBfsTest {
+    
+    private static CsrGraph randomGraph(Random random, int n, int edges, boolean undirected) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(n);
+        for (int i = 0; i < edges; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (undirected) {
+                builder.addUndirectedEdge(u, v);
+            } else {
+                builder.addEdge(u, v);
+            }
+        }
+        return builder.build();
+    }
+    
+    private static int[] sequentialDepths(CsrGraph graph, int source) {
+        int[] depth = new int[graph.vertexCount()];
+        Arrays.fill(depth, -1);
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        depth[source] = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int w : graph.neighbors(v)) {
+                if (depth[w] == -1) {
+                    depth[w] = depth[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return depth;
+    }
+    
+    private static boolean hasEdge(CsrGraph graph, int from, int to) {
+        for (int e = graph.edgeStart(from), end = graph.edgeEnd(from); e < end; e++) {
+            if (graph.target(e) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Depths equal the sequential BFS, and every parent is a real edge one level up
+    private static void assertValid(CsrGraph graph, int source, ParallelBfs.Result result) {
+        int[] expected = sequentialDepths(graph, source);
+        int[] depth = result.getDepth();
+        int[] parent = result.getParent();
+        assertArrayEquals(expected, depth);
+        
+        int reached = 0;
+        int maxDepth = 0;
+        for (int v = 0; v < depth.length; v++) {
+            if (depth[v] == -1) {
+                assertEquals(-1, parent[v], "unreached vertex " + v);
+                assertEquals(0, result.pathTo(v).length);
+                continue;
+            }
+            reached++;
+            maxDepth = Math.max(maxDepth, depth[v]);
+            if (v == source) {
+                assertEquals(source, parent[v]);
+            } else {
+                assertTrue(hasEdge(graph, parent[v], v), "no edge " + parent[v] + " -> " + v);
+                assertEquals(depth[v] - 1, depth[parent[v]], "parent of " + v);
+            }
+        }
+        assertEquals(reached, result.getReached());
+        assertEquals(maxDepth + 1, result.getLevels());
+        
+        for (int v = 0; v < depth.length; v += Math.max(1, depth.length / 50)) {
+            int[] path = result.pathTo(v);
+            if (path.length > 0) {
+                assertEquals(source, path[0]);
+                assertEquals(v, path[path.length - 1]);
+                assertEquals(depth[v] + 1, path.length);
+                for (int i = 1; i < path.length; i++) {
+                    assertTrue(hasEdge(graph, path[i - 1], path[i]));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testAgainstSequentialBfs() {
+        Random random = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Thresholds that switch late, early in both directions, and early to bottom-up but late back
+            ParallelBfs[] searches = {
+                new ParallelBfs(pool, ParallelBfs.DEFAULT_ALPHA, ParallelBfs.DEFAULT_BETA),
+                new ParallelBfs(pool, 1, 1),
+                new ParallelBfs(pool, 1000, 1),
+                new ParallelBfs(pool, 1000, 1000),
+                ParallelBfs.topDownOnly(pool)
+            };
+            
+            int bottomUpLevels = 0;
+            for (int round = 0; round < 60; round++) {
+                boolean undirected = round % 2 == 0;
+                int n = round < 40 ? 1 + random.nextInt(200) : 20_000 + random.nextInt(30_000);
+                CsrGraph graph = randomGraph(random, n, random.nextInt(4 * n + 1), undirected);
+                CsrGraph reverse = graph.transpose();
+                int source = random.nextInt(n);
+                
+                for (int s = 0; s < searches.length; s++) {
+                    ParallelBfs.Result result = undirected ? searches[s].search(graph, source) : searches[s].search(graph, reverse, source);
+                    assertValid(graph, source, result);
+                    if (s == searches.length - 1) {
+                        assertEquals(0, result.getBottomUpLevels());
+                    } else if (s == 2) {
+                        bottomUpLevels += result.getBottomUpLevels();
+                    }
+                }
+            }
+            assertTrue(bottomUpLevels > 0, "bottom-up steps were never taken");
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSingleVertexAndInvalidArguments() {
+        CsrGraph single = new CsrGraph.Builder(1).build();
+        ParallelBfs.Result result = new ParallelBfs().search(single, 0);
+        assertEquals(1, result.getReached());
+        assertArrayEquals(new int[] {0}, result.pathTo(0));
+        
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBfs(ForkJoinPool.commonPool(), 0, 1));
+        CsrGraph path = new CsrGraph.Builder().addEdge(0, 1).addEdge(1, 2).build();
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBfs().search(path, new CsrGraph.Builder(3).build(), 0));
+    }
+}
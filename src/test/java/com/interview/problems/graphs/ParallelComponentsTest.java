@@ -0,0 +1,250 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelComponentsTest {
+    
+    private static CsrGraph randomGraph(Random random, int n, int edges) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(n);
+        for (int i = 0; i < edges; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Clusters of strongly connected vertices, linked only from lower to higher clusters, so
+     * the forward-backward decomposition keeps splitting off subproblems larger than
+     * SEQUENTIAL_SCC and forks them
+     */
+    private static CsrGraph clusteredGraph(Random random, int clusters, int clusterSize) {
+        int n = clusters * clusterSize;
+        CsrGraph.Builder builder = new CsrGraph.Builder(n);
+        for (int c = 0; c < clusters; c++) {
+            int base = c * clusterSize;
+            for (int i = 0; i < clusterSize; i++) {
+                builder.addEdge(base + i, base + (i + 1) % clusterSize);
+                builder.addEdge(base + i, base + random.nextInt(clusterSize));
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            int from = random.nextInt(n);
+            int to = random.nextInt(n);
+            if (from / clusterSize < to / clusterSize) {
+                builder.addEdge(from, to);
+            }
+        }
+        return builder.build();
+    }
+    
+    // Transitive closure by BFS from every vertex
+    private static boolean[][] reachability(CsrGraph graph) {
+        int n = graph.vertexCount();
+        boolean[][] reach = new boolean[n][n];
+        int[] queue = new int[n];
+        for (int s = 0; s < n; s++) {
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = s;
+            reach[s][s] = true;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int w : graph.neighbors(v)) {
+                    if (!reach[s][w]) {
+                        reach[s][w] = true;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+    
+    /**
+     * Iterative Kosaraju: finishing order on the graph, then components on the transpose
+     */
+    private static int[] kosaraju(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        int finished = 0;
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = s;
+            visited[s] = true;
+            cursor[s] = graph.edgeStart(s);
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < graph.edgeEnd(v)) {
+                    int w = graph.target(cursor[v]++);
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        cursor[w] = graph.edgeStart(w);
+                        stack[top++] = w;
+                    }
+                } else {
+                    order[finished++] = v;
+                    top--;
+                }
+            }
+        }
+        
+        CsrGraph reverse = graph.transpose();
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        for (int i = n - 1; i >= 0; i--) {
+            int root = order[i];
+            if (label[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            label[root] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                for (int w : reverse.neighbors(v)) {
+                    if (label[w] == -1) {
+                        label[w] = root;
+                        stack[top++] = w;
+                    }
+                }
+            }
+        }
+        return label;
+    }
+    
+    // Weak components by BFS from each unlabeled vertex in increasing order, so labels are the smallest vertex
+    private static int[] weakComponents(CsrGraph graph) {
+        int n = graph.vertexCount();
+        CsrGraph reverse = graph.transpose();
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int[] queue = new int[n];
+        for (int s = 0; s < n; s++) {
+            if (label[s] != -1) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = s;
+            label[s] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (CsrGraph g : new CsrGraph[] {graph, reverse}) {
+                    for (int w : g.neighbors(v)) {
+                        if (label[w] == -1) {
+                            label[w] = s;
+                            queue[tail++] = w;
+                        }
+                    }
+                }
+            }
+        }
+        return label;
+    }
+    
+    // Same partition as expected, and every label is a representative that labels itself
+    private static void assertSameComponents(int[] expected, int[] actual) {
+        assertEquals(expected.length, actual.length);
+        int[] toActual = new int[expected.length];
+        int[] toExpected = new int[expected.length];
+        Arrays.fill(toActual, -1);
+        Arrays.fill(toExpected, -1);
+        
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(actual[v], actual[actual[v]], "label of vertex " + v + " is not a representative");
+            if (toActual[expected[v]] == -1 && toExpected[actual[v]] == -1) {
+                toActual[expected[v]] = actual[v];
+                toExpected[actual[v]] = expected[v];
+            }
+            assertEquals(toActual[expected[v]], actual[v], "vertex " + v);
+            assertEquals(toExpected[actual[v]], expected[v], "vertex " + v);
+        }
+    }
+    
+    @Test
+    public void testSmallGraphsAgainstReachability() {
+        Random random = new Random(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 500; round++) {
+                int n = 1 + random.nextInt(12);
+                CsrGraph graph = randomGraph(random, n, random.nextInt(3 * n));
+                boolean[][] reach = reachability(graph);
+                
+                // Expected SCC label: smallest mutually reachable vertex
+                int[] strong = new int[n];
+                for (int v = 0; v < n; v++) {
+                    strong[v] = v;
+                    for (int u = 0; u < v; u++) {
+                        if (reach[u][v] && reach[v][u]) {
+                            strong[v] = u;
+                            break;
+                        }
+                    }
+                }
+                assertSameComponents(strong, ParallelComponents.stronglyConnectedComponents(graph, graph.transpose(), pool));
+                
+                // Weak components: reachability in the graph plus its transpose, labeled by the smallest vertex
+                CsrGraph.Builder undirected = new CsrGraph.Builder(n);
+                for (int v = 0; v < n; v++) {
+                    for (int w : graph.neighbors(v)) {
+                        undirected.addUndirectedEdge(v, w);
+                    }
+                }
+                boolean[][] connected = reachability(undirected.build());
+                int[] weak = new int[n];
+                for (int v = 0; v < n; v++) {
+                    weak[v] = v;
+                    for (int u = 0; u < v; u++) {
+                        if (connected[u][v]) {
+                            weak[v] = u;
+                            break;
+                        }
+                    }
+                }
+                assertArrayEquals(weak, ParallelComponents.connectedComponents(graph, pool));
+                assertEquals(Arrays.stream(weak).distinct().count(), ParallelComponents.countComponents(weak));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testLargeGraphsAgainstKosaraju() {
+        Random random = new Random(2);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 12; round++) {
+                CsrGraph graph = round % 2 == 0
+                        ? randomGraph(random, 20_000 + random.nextInt(20_000), 25_000 + random.nextInt(40_000))
+                        : clusteredGraph(random, 4 + random.nextInt(4), 5_000 + random.nextInt(3_000));
+                int[] expected = kosaraju(graph);
+                int[] actual = ParallelComponents.stronglyConnectedComponents(graph, graph.transpose(), pool);
+                assertSameComponents(expected, actual);
+                assertEquals(ParallelComponents.countComponents(expected), ParallelComponents.countComponents(actual));
+                assertArrayEquals(weakComponents(graph), ParallelComponents.connectedComponents(graph, pool));
+            }
+            
+            // Several SCCs above SEQUENTIAL_SCC, so the forward-backward subproblems fork
+            CsrGraph clustered = clusteredGraph(random, 6, 6_000);
+            assertEquals(6, ParallelComponents.countComponents(ParallelComponents.stronglyConnectedComponents(clustered)));
+            
+            CsrGraph large = randomGraph(random, 50_000, 60_000);
+            assertSameComponents(kosaraju(large), ParallelComponents.stronglyConnectedComponents(large));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
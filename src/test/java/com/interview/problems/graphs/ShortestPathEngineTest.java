@@ -0,0 +1,147 @@
+package com.interview.problems.graphs;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortestPathEngineTest {
+    
+    // Integer weights keep every path sum exact, so distances can be compared with equals
+    private static WeightedCsrGraph randomGraph(Random random, int n, int edges) {
+        WeightedCsrGraph.Builder builder = new WeightedCsrGraph.Builder(n);
+        for (int i = 0; i < edges; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(20));
+        }
+        return builder.build();
+    }
+    
+    private static double[] bellmanFord(WeightedCsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        
+        for (int round = 0; round < n; round++) {
+            boolean changed = false;
+            for (int v = 0; v < n; v++) {
+                if (distance[v] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e < end; e++) {
+                    if (distance[v] + graph.weight(e) < distance[graph.target(e)]) {
+                        distance[graph.target(e)] = distance[v] + graph.weight(e);
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return distance;
+    }
+    
+    // Cost of the path using the cheapest edge between consecutive vertices; NaN if an edge is missing
+    private static double pathCost(WeightedCsrGraph graph, int[] path) {
+        double cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            double cheapest = Double.NaN;
+            for (int e = graph.edgeStart(path[i - 1]), end = graph.edgeEnd(path[i - 1]); e < end; e++) {
+                if (graph.target(e) == path[i] && !(graph.weight(e) >= cheapest)) {
+                    cheapest = graph.weight(e);
+                }
+            }
+            cost += cheapest;
+        }
+        return cost;
+    }
+    
+    private static void assertPath(WeightedCsrGraph graph, int source, int target, double expected, int[] path) {
+        if (expected == Double.POSITIVE_INFINITY) {
+            assertEquals(0, path.length, "unreachable " + source + " -> " + target);
+            return;
+        }
+        assertEquals(source, path[0]);
+        assertEquals(target, path[path.length - 1]);
+        assertEquals(expected, pathCost(graph, path), "path " + Arrays.toString(path));
+    }
+    
+    @Test
+    public void testAgainstBellmanFord() {
+        Random random = new Random(11);
+        
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(round < 250 ? 30 : 2000);
+            WeightedCsrGraph graph = randomGraph(random, n, random.nextInt(3 * n + 1));
+            ShortestPathEngine engine = new ShortestPathEngine(graph);
+            WeightedCsrGraph reverse = graph.transpose();
+            ShortestPathEngine.QueryContext context = engine.newContext();
+            
+            int source = random.nextInt(n);
+            double[] expected = bellmanFord(graph, source);
+            
+            engine.dijkstraAll(source, context);
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], context.distanceTo(v));
+            }
+            
+            for (int query = 0; query < 10; query++) {
+                // Always include source == target, and usually some unreachable targets
+                int target = query == 0 ? source : random.nextInt(n);
+                double distance = expected[target];
+                
+                assertEquals(distance, engine.dijkstra(source, target, context));
+                assertEquals(distance, context.getDistance());
+                assertPath(graph, source, target, distance, context.path());
+                
+                assertEquals(distance, engine.aStar(source, target, (vertex, t) -> 0, context));
+                assertPath(graph, source, target, distance, context.path());
+                
+                // Admissible heuristics: half the true remaining distance (consistent), and a random
+                // fraction of it (admissible but not consistent, so settled vertices can reopen)
+                double[] remaining = bellmanFord(reverse, target);
+                ShortestPathEngine.Heuristic half = (vertex, t) -> remaining[vertex] == Double.POSITIVE_INFINITY ? 0 : remaining[vertex] / 2;
+                double[] fraction = new double[n];
+                for (int v = 0; v < n; v++) {
+                    fraction[v] = remaining[v] == Double.POSITIVE_INFINITY ? 0 : Math.floor(remaining[v] * random.nextDouble());
+                }
+                assertEquals(distance, engine.aStar(source, target, half, context));
+                assertPath(graph, source, target, distance, context.path());
+                assertEquals(distance, engine.aStar(source, target, (vertex, t) -> fraction[vertex], context));
+                assertPath(graph, source, target, distance, context.path());
+                
+                assertEquals(distance, engine.bidirectionalDijkstra(source, target, context));
+                assertEquals(distance, context.getDistance());
+                assertPath(graph, source, target, distance, context.path());
+            }
+        }
+    }
+    
+    @Test
+    public void testSourceEqualsTargetAndUnreachable() {
+        // 0 -> 1 -> 2, and 3 cannot be reached
+        WeightedCsrGraph graph = new WeightedCsrGraph.Builder(4).addEdge(0, 1, 2).addEdge(1, 2, 3).addEdge(3, 0, 1).build();
+        ShortestPathEngine engine = new ShortestPathEngine(graph);
+        ShortestPathEngine.QueryContext context = engine.newContext();
+        
+        assertEquals(0, engine.dijkstra(1, 1, context));
+        assertArrayEquals(new int[] {1}, context.path());
+        assertEquals(0, engine.bidirectionalDijkstra(1, 1, context));
+        assertArrayEquals(new int[] {1}, context.path());
+        assertEquals(0, engine.aStar(1, 1, (vertex, target) -> 0, context));
+        assertArrayEquals(new int[] {1}, context.path());
+        
+        assertEquals(Double.POSITIVE_INFINITY, engine.dijkstra(0, 3, context));
+        assertEquals(0, context.path().length);
+        assertEquals(Double.POSITIVE_INFINITY, engine.bidirectionalDijkstra(0, 3, context));
+        assertEquals(0, context.path().length);
+        assertEquals(Double.POSITIVE_INFINITY, engine.aStar(2, 0, (vertex, target) -> 0, context));
+        assertEquals(0, context.path().length);
+        
+        assertEquals(5, engine.bidirectionalDijkstra(0, 2, context));
+        assertArrayEquals(new int[] {0, 1, 2}, context.path());
+        assertEquals(6, engine.dijkstra(3, 2, context));
+        assertArrayEquals(new int[] {3, 0, 1, 2}, context.path());
+    }
+}
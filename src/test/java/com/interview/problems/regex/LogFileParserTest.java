@@ -0,0 +1,30 @@
+package com.interview.problems.regex;
+
+import com.interview.problems.regex.LogFileParser.FormatDetector;
+import com.interview.problems.regex.LogFileParser.LogEntry;
+import com.interview.problems.regex.LogFileParser.LogFormat;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogFileParserTest {
+    
+    private static final String JSON_LOG = "{\"timestamp\":\"2023-05-15T14:30:45.123Z\",\"level\":\"INFO\",\"logger\":\"auth\",\"message\":\"User authenticated\",\"userId\":\"12345\",\"ipAddress\":\"192.168.1.1\"}";
+    
+    @Test
+    public void testDetectorMatchesParseLogWithWhitespaceInApacheTimestamp() {
+        FormatDetector detector = new FormatDetector();
+        for (int i = 0; i < FormatDetector.DEFAULT_SAMPLE_SIZE; i++) {
+            detector.parse(JSON_LOG);
+        }
+        assertEquals(LogFormat.JSON, detector.getLockedFormat());
+        
+        // \s in the Apache timestamp accepts a tab; the line also looks like JSON to the JSON parser
+        for (String separator : new String[] {" ", "\t", "\u000B", "\f", "\r"}) {
+            String line = "example.com - u [10/Oct/2000:13:55:36" + separator + "-0700] \"GET /\"message\":\"v\" HTTP/1.0\" 200 1";
+            LogEntry expected = LogFileParser.parseLog(line);
+            assertNotNull(expected);
+            assertEquals("example.com", expected.getIpAddress());
+            assertEquals(expected.toString(), detector.parse(line).toString());
+        }
+    }
+}
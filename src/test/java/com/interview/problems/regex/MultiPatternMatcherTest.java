@@ -0,0 +1,75 @@
+package com.interview.problems.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiPatternMatcherTest {
+    
+    // Reference: a plain find loop per pattern, as "start-end" strings in findAll's order
+    private static List<String> expected(String[] regexes, String text) {
+        List<int[]> found = new ArrayList<>();
+        for (int i = 0; i < regexes.length; i++) {
+            Matcher m = Pattern.compile(regexes[i]).matcher(text);
+            while (m.find()) {
+                found.add(new int[] {m.start(), i, m.end()});
+            }
+        }
+        found.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        
+        List<String> result = new ArrayList<>();
+        for (int[] match : found) {
+            result.add(match[1] + ":" + match[0] + "-" + match[2]);
+        }
+        return result;
+    }
+    
+    private static List<String> actual(String[] regexes, String text) {
+        List<String> result = new ArrayList<>();
+        for (MultiPatternMatcher.Match match : MultiPatternMatcher.compile(regexes).findAll(text)) {
+            result.add(match.getPatternIndex() + ":" + match.getStart() + "-" + match.getEnd());
+        }
+        return result;
+    }
+    
+    @Test
+    public void testSupplementaryCodePointsBeforeLiteral() {
+        assertEquals(List.of("0:0-7"), actual(new String[] {".ERROR"}, "\uD83D\uDE00ERROR"));
+        assertEquals(List.of("0:0-4"), actual(new String[] {"[^q]AB"}, "\uD801\uDC00AB"));
+        assertEquals(List.of("0:0-5"), actual(new String[] {"\\S{2}AB"}, "x\uD83D\uDE00AB"));
+        assertEquals(List.of("0:0-4"), actual(new String[] {"\\p{L}AB"}, "\uD801\uDC00AB"));
+        assertEquals(List.of("0:0-5"), actual(new String[] {"\\x{1F600}ERR"}, "\uD83D\uDE00ERR"));
+        
+        assertTrue(MultiPatternMatcher.compile(".ERROR").matchingPatterns("\uD83D\uDE00ERROR").get(0));
+        assertTrue(MultiPatternMatcher.compile("\\p{L}AB").matchingPatterns("\uD801\uDC00AB").get(0));
+    }
+    
+    @Test
+    public void testSameAsFindLoop() {
+        String[] regexes = {".ERROR", "[^q]AB", "\\S{2}AB", "\\p{L}AB", "\\w\\w?ER", "a.b", "ERROR \\d+", "x+AB", "(ER|AB)\\d"};
+        String[] pieces = {"a", "b", "x", "ER", "ROR", "AB", " ", "1", "\uD83D\uDE00", "\uD801\uDC00", "\u00E9"};
+        Random random = new Random(42);
+        
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                text.append(pieces[random.nextInt(pieces.length)]);
+            }
+            assertEquals(expected(regexes, text.toString()), actual(regexes, text.toString()), "text: " + text);
+        }
+    }
+    
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("ERROR", MultiPatternMatcher.requiredLiteral(".ERROR").text);
+        assertEquals(2, MultiPatternMatcher.requiredLiteral(".ERROR").maxPrefix);
+        assertEquals(4, MultiPatternMatcher.requiredLiteral("\\S{2}AB").maxPrefix);
+        assertEquals(1, MultiPatternMatcher.requiredLiteral("x?AB").maxPrefix);
+        assertNull(MultiPatternMatcher.requiredLiteral("a|b"));
+    }
+}
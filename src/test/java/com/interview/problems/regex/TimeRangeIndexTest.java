@@ -0,0 +1,88 @@
+package com.interview.problems.regex;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeRangeIndexTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 5, 15, 0, 0);
+    
+    // Offsets of the header fields in the sidecar
+    private static final int FILE_SIZE_OFFSET = 12;
+    private static final int BLOCKS_OFFSET = 36;
+    private static final int FIRST_BLOCK_OFFSET = 40;
+    
+    private static Path writeLog(int lines) throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append(BASE.plusSeconds(i).format(formatter)).append(" INFO [application] - Request ").append(i).append('\n');
+        }
+        Path logFile = Files.createTempFile("time-index", ".log");
+        Files.write(logFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+        return logFile;
+    }
+    
+    private static void deleteAll(Path logFile) throws IOException {
+        Files.deleteIfExists(TimeRangeIndex.sidecarPath(logFile));
+        Files.deleteIfExists(logFile);
+    }
+    
+    @Test
+    public void testHugeBlockCountIsRejectedBeforeAllocating() throws IOException {
+        Path logFile = writeLog(1000);
+        try {
+            TimeRangeIndex index = TimeRangeIndex.open(logFile, 100);
+            Path sidecar = TimeRangeIndex.sidecarPath(logFile);
+            
+            try (RandomAccessFile file = new RandomAccessFile(sidecar.toFile(), "rw")) {
+                file.seek(FILE_SIZE_OFFSET);
+                file.writeLong(Long.MAX_VALUE / 2);
+                file.seek(BLOCKS_OFFSET);
+                file.writeInt(Integer.MAX_VALUE - 16);
+            }
+            assertThrows(IOException.class, () -> TimeRangeIndex.read(sidecar));
+            
+            // open() rebuilds instead of failing
+            TimeRangeIndex reopened = TimeRangeIndex.open(logFile, 100);
+            assertEquals(index.blockCount(), reopened.blockCount());
+            assertEquals(60, reopened.query(logFile, BASE.plusMinutes(5), BASE.plusMinutes(6)).size());
+            assertEquals(index.blockCount(), TimeRangeIndex.read(sidecar).blockCount());
+        } finally {
+            deleteAll(logFile);
+        }
+    }
+    
+    @Test
+    public void testBadBlockOffsetsAreRejected() throws IOException {
+        Path logFile = writeLog(1000);
+        try {
+            TimeRangeIndex.open(logFile, 100);
+            Path sidecar = TimeRangeIndex.sidecarPath(logFile);
+            byte[] original = Files.readAllBytes(sidecar);
+            long size = Files.size(logFile);
+            
+            // Second block starting before the first, then a block past the end of the log
+            for (long[] patch : new long[][] {{1, 0}, {1, -1}, {2, size}, {9, Long.MAX_VALUE}}) {
+                Files.write(sidecar, original);
+                try (RandomAccessFile file = new RandomAccessFile(sidecar.toFile(), "rw")) {
+                    file.seek(FIRST_BLOCK_OFFSET + 24 * patch[0]);
+                    file.writeLong(patch[1]);
+                }
+                assertThrows(IOException.class, () -> TimeRangeIndex.read(sidecar));
+            }
+            
+            Files.write(sidecar, original);
+            assertEquals(10, TimeRangeIndex.read(sidecar).blockCount());
+        } finally {
+            deleteAll(logFile);
+        }
+    }
+}